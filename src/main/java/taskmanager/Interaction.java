@@ -137,11 +137,8 @@ public class Interaction {
             String input = sc.nextLine();
             int id = inputToInt(input);
             if (id > 0) {
-                List<Task> allTasksList = taskManager.getAllItems();
-                for (Task task : allTasksList) {
-                    if (task.getId() == id) {
-                        return id;
-                    }
+                if (taskManager.containsItem(id)) {
+                    return id;
                 }
                 System.out.println("There's no task with [" + id + "] id" +
                         "\nTry again!");
@@ -1,15 +1,29 @@
 package taskmanager.http;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.reflect.TypeToken;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import com.sun.net.httpserver.HttpServer;
+import taskmanager.exceptions.AddingAndUpdatingException;
 import taskmanager.exceptions.HttpException;
+import taskmanager.exceptions.NoSuchTaskException;
 import taskmanager.model.Epic;
 import taskmanager.model.Subtask;
 import taskmanager.model.Task;
+import taskmanager.model.Type;
+import taskmanager.service.FileBackedTasksManager;
+import taskmanager.service.InMemoryTaskManager;
 import taskmanager.service.Managers;
+import taskmanager.service.PartitionedBoardManager;
+import taskmanager.service.SessionHistoryRegistry;
+import taskmanager.service.TaskEventListener;
+import taskmanager.service.TaskEventType;
 import taskmanager.service.TaskManager;
+import taskmanager.service.ThreadSafeTaskManager;
 
 import java.io.IOException;
 import java.io.OutputStream;
@@ -17,24 +31,61 @@ import java.net.InetSocketAddress;
 import java.net.URI;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class HttpTaskServer {
 
     private static final Charset DEFAULT_CHARSET = StandardCharsets.UTF_8;
+    private static final int DEFAULT_PORT = 8080;
     private final HttpServer server;
     private final TaskManager manager;
+    private final PartitionedBoardManager boards;
+    private final ExecutorService executor;
     private static final Gson GSON = Managers.getGson();
+    private static final DateTimeFormatter DT_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+    private static final String SESSION_HEADER = "X-Session-Id";
+    private final SessionHistoryRegistry sessionHistories = new SessionHistoryRegistry();
+    private final TaskEventListener sessionHistoriesReset = event -> {
+        if (event.getType() == TaskEventType.CLEARED) {
+            sessionHistories.clear();
+        }
+    };
 
     public HttpTaskServer(TaskManager manager) {
+        this(manager, new PartitionedBoardManager(), DEFAULT_PORT);
+    }
+
+    public HttpTaskServer(TaskManager manager, PartitionedBoardManager boards, int port) {
+        this.manager = manager;
+        this.boards = boards;
+        if (manager instanceof InMemoryTaskManager) {
+            ((InMemoryTaskManager) manager).subscribe(sessionHistoriesReset);
+        }
         try {
             server = HttpServer.create();
-            server.bind(new InetSocketAddress("localhost", 8080), 0);
-            startServer();
+            server.bind(new InetSocketAddress("localhost", port), 0);
         } catch (IOException e) {
             throw new HttpException("Unable to create or bind server because " + e.getMessage());
         }
+        executor = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "http-task-server");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        server.setExecutor(executor);
         server.createContext("/tasks", new TasksHandler());
-        this.manager = manager;
+        server.createContext("/boards", new BoardsHandler());
+        startServer();
     }
 
     public HttpTaskServer() {
@@ -47,188 +98,402 @@ public class HttpTaskServer {
 
     public void stop() {
         server.stop(0);
+        executor.shutdown();
+        boards.close();
+        if (manager instanceof InMemoryTaskManager) {
+            ((InMemoryTaskManager) manager).unsubscribe(sessionHistoriesReset);
+        }
+        if (manager instanceof FileBackedTasksManager) {
+            ((FileBackedTasksManager) manager).close();
+        }
     }
 
     private class TasksHandler implements HttpHandler {
         @Override
         public void handle(HttpExchange exchange) throws IOException {
-            String requestPath = exchange.getRequestURI().getPath();
-            String requestMethod = exchange.getRequestMethod();
-            URI requestURI = exchange.getRequestURI();
-
-            String responseBody;
-            int responseCode;
-            int id = 0;
-            boolean isNew = true;
-            String requestBody;
-            if (requestURI.getQuery() != null) {
-                String[] queryArray = requestURI.getQuery().split("=");
-                id = Integer.parseInt(queryArray[1]);
-            }
-            for (Task task : manager.getAllTasks()) {
-                if (task.getId() == id) {
-                    isNew = false;
-                    break;
+            Request request = new Request(exchange, exchange.getRequestURI().getPath(),
+                    exchange.getRequestHeaders().getFirst(SESSION_HEADER));
+            Response response;
+            if (manager instanceof ThreadSafeTaskManager) {
+                response = route(manager, request);
+            } else {
+                synchronized (manager) {
+                    response = route(manager, request);
                 }
             }
+            sendResponse(exchange, response.body, response.code);
+        }
+    }
+
+    private class BoardsHandler implements HttpHandler {
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            String[] pathParts = exchange.getRequestURI().getPath().split("/", 4);
+            if (pathParts.length < 4 || pathParts[2].isEmpty() || !pathParts[3].startsWith("tasks")) {
+                sendResponse(exchange, "Unknown request path!", 404);
+                return;
+            }
+            String boardId = pathParts[2];
+            String sessionId = exchange.getRequestHeaders().getFirst(SESSION_HEADER);
+            Request request = new Request(exchange, "/" + pathParts[3],
+                    sessionId == null ? null : boardId + "/" + sessionId);
+            Response response;
+            if (request.method.equals("POST")) {
+                response = boards.execute(boardId, board -> route(board, request));
+            } else {
+                response = boards.executeIfPresent(boardId, board -> route(board, request))
+                        .orElse(new Response("Unknown board!", 404));
+            }
+            sendResponse(exchange, response.body, response.code);
+        }
+    }
 
-            switch (requestPath) {
+    private Response route(TaskManager manager, Request request) {
+        String requestPath = request.path;
+        String requestMethod = request.method;
 
-                case "/tasks":
+        String responseBody;
+        int responseCode;
+        Map<String, String> query = request.query;
+        int id = Integer.parseInt(query.getOrDefault("id", "0"));
+        String requestBody;
+        boolean isNew = !manager.containsItem(id);
 
-                    switch (requestMethod) {
-                        case "GET":
-                            System.out.println(manager.getAllItems());
-                            responseBody = GSON.toJson(manager.getAllItems());
-                            responseCode = 200;
-                            break;
-                        case "DELETE":
-                            manager.deleteAllItems();
-                            responseBody = "All items where deleted!";
-                            responseCode = 200;
-                            break;
-                        default:
-                            responseBody = "Wrong request method!";
-                            responseCode = 405;
+        switch (requestPath) {
+
+            case "/tasks":
+
+                switch (requestMethod) {
+                    case "GET":
+                        responseBody = GSON.toJson(manager.getAllItems());
+                        responseCode = 200;
+                        break;
+                    case "DELETE":
+                        manager.deleteAllItems();
+                        responseBody = "All items where deleted!";
+                        responseCode = 200;
+                        break;
+                    default:
+                        responseBody = "Wrong request method!";
+                        responseCode = 405;
+                }
+                break;
+
+            case "/tasks/history":
+
+                if (requestMethod.equals("GET")) {
+                    responseBody = GSON.toJson(getHistory(manager, request.sessionId));
+                    responseCode = 200;
+                } else {
+                    throw new HttpException("Wrong request method!");
+                }
+                break;
+
+            case "/tasks/priority":
+
+                if (requestMethod.equals("GET")) {
+                    try {
+                        responseBody = GSON.toJson(getPrioritizedTasks(manager, query));
+                        responseCode = 200;
+                    } catch (IllegalArgumentException | DateTimeParseException | NoSuchTaskException e) {
+                        responseBody = "Wrong query parameters!";
+                        responseCode = 400;
                     }
-                    break;
+                } else {
+                    responseBody = "Wrong request method!";
+                    responseCode = 405;
+                }
+                break;
 
-                case "/tasks/history":
+            case "/tasks/search":
 
-                    if (requestMethod.equals("GET")) {
-                        responseBody = GSON.toJson(manager.getHistory());
+                if (requestMethod.equals("GET")) {
+                    try {
+                        int limit = Integer.parseInt(query.getOrDefault("limit", "10"));
+                        responseBody = GSON.toJson(manager.search(query.getOrDefault("q", ""), limit));
                         responseCode = 200;
-                    } else {
-                        throw new HttpException("Wrong request method!");
+                    } catch (NumberFormatException e) {
+                        responseBody = "Wrong query parameters!";
+                        responseCode = 400;
                     }
-                    break;
+                } else {
+                    responseBody = "Wrong request method!";
+                    responseCode = 405;
+                }
+                break;
 
-                case "/tasks/priority":
+            case "/tasks/slots":
 
-                    if (requestMethod.equals("GET")) {
-                        responseBody = GSON.toJson(manager.getPrioritizedTasks());
+                if (requestMethod.equals("GET")) {
+                    try {
+                        responseBody = GSON.toJson(findFreeSlots(manager, query));
                         responseCode = 200;
-                    } else {
-                        responseBody = "Wrong request method!";
-                        responseCode = 405;
+                    } catch (IllegalArgumentException | DateTimeParseException e) {
+                        responseBody = "Wrong query parameters!";
+                        responseCode = 400;
                     }
-                    break;
+                } else {
+                    responseBody = "Wrong request method!";
+                    responseCode = 405;
+                }
+                break;
 
-                case "/tasks/task/":
+            case "/tasks/task/":
 
-                    switch (requestMethod) {
-                        case "GET":
-                            responseBody = GSON.toJson(manager.getTask(id));
-                            responseCode = 200;
-                            break;
-                        case "POST":
-                            requestBody = readRequestBodyText(exchange);
-                            if (requestBody.isEmpty()) {
-                                responseBody = "Request body is empty!";
-                                responseCode = 400;
+                switch (requestMethod) {
+                    case "GET":
+                        responseBody = GSON.toJson(recordView(request.sessionId, manager.getTask(id)));
+                        responseCode = 200;
+                        break;
+                    case "POST":
+                        requestBody = request.body;
+                        if (requestBody.isEmpty()) {
+                            responseBody = "Request body is empty!";
+                            responseCode = 400;
+                        } else {
+                            Task task = GSON.fromJson(requestBody, Task.class);
+                            if (isNew) {
+                                manager.addNewTask(task);
+                                responseBody = "New task was added!";
+                                responseCode = 201;
                             } else {
-                                Task task = GSON.fromJson(requestBody, Task.class);
-                                if (isNew) {
-                                    manager.addNewTask(task);
-                                    responseBody = "New task was added!";
-                                } else {
-                                    task.setId(id);
+                                task.setId(id);
+                                try {
                                     manager.updateTask(task);
                                     responseBody = "Task was updated!";
+                                    responseCode = 201;
+                                } catch (NoSuchTaskException e) {
+                                    responseBody = e.getMessage();
+                                    responseCode = 404;
                                 }
-                                responseCode = 201;
                             }
-                            break;
-                        case "DELETE":
-                            manager.deleteTaskById(id);
-                            responseCode = 200;
-                            responseBody = "Task was deleted!";
-                            break;
-                        default:
-                            responseBody = "Wrong request method!";
-                            responseCode = 405;
-                    }
-                    break;
+                        }
+                        break;
+                    case "DELETE":
+                        manager.deleteTaskById(id);
+                        responseCode = 200;
+                        responseBody = "Task was deleted!";
+                        break;
+                    default:
+                        responseBody = "Wrong request method!";
+                        responseCode = 405;
+                }
+                break;
 
-                case "/tasks/epic/":
+            case "/tasks/epic/":
 
-                    switch (requestMethod) {
-                        case "GET":
-                            responseBody = GSON.toJson(manager.getEpic(id));
-                            responseCode = 200;
-                            break;
-                        case "POST":
-                            requestBody = readRequestBodyText(exchange);
-                            if (requestBody.isEmpty()) {
-                                responseBody = "Request body is empty!";
-                                responseCode = 400;
+                switch (requestMethod) {
+                    case "GET":
+                        responseBody = GSON.toJson(recordView(request.sessionId, manager.getEpic(id)));
+                        responseCode = 200;
+                        break;
+                    case "POST":
+                        requestBody = request.body;
+                        if (requestBody.isEmpty()) {
+                            responseBody = "Request body is empty!";
+                            responseCode = 400;
+                        } else {
+                            Epic epic;
+                            epic = GSON.fromJson(requestBody, Epic.class);
+                            if (isNew) {
+                                manager.addNewEpic(epic);
+                                responseBody = "New epic was added!";
+                                responseCode = 201;
                             } else {
-                                Epic epic;
-                                epic = GSON.fromJson(requestBody, Epic.class);
-                                if (isNew) {
-                                    manager.addNewEpic(epic);
-                                    responseBody = "New epic was added!";
-                                } else {
-                                    epic.setId(id);
+                                epic.setId(id);
+                                try {
                                     manager.updateEpic(epic);
                                     responseBody = "Epic was updated!";
+                                    responseCode = 201;
+                                } catch (NoSuchTaskException e) {
+                                    responseBody = e.getMessage();
+                                    responseCode = 404;
                                 }
-                                responseCode = 201;
                             }
-                            break;
-                        case "DELETE":
-                            manager.deleteTaskById(id);
-                            responseCode = 200;
-                            responseBody = "Epic was deleted!";
-                            break;
-                        default:
-                            responseBody = "Wrong request method!";
-                            responseCode = 405;
-                    }
-                    break;
+                        }
+                        break;
+                    case "DELETE":
+                        manager.deleteTaskById(id);
+                        responseCode = 200;
+                        responseBody = "Epic was deleted!";
+                        break;
+                    default:
+                        responseBody = "Wrong request method!";
+                        responseCode = 405;
+                }
+                break;
 
-                case "/tasks/subtask/":
+            case "/tasks/subtask/":
 
-                    switch (requestMethod) {
-                        case "GET":
-                            responseBody = GSON.toJson(manager.getSubtask(id));
-                            responseCode = 200;
-                            break;
-                        case "POST":
-                            requestBody = readRequestBodyText(exchange);
-                            if (requestBody.isEmpty()) {
-                                responseBody = "Request body is empty!";
-                                responseCode = 400;
+                switch (requestMethod) {
+                    case "GET":
+                        responseBody = GSON.toJson(recordView(request.sessionId, manager.getSubtask(id)));
+                        responseCode = 200;
+                        break;
+                    case "POST":
+                        requestBody = request.body;
+                        if (requestBody.isEmpty()) {
+                            responseBody = "Request body is empty!";
+                            responseCode = 400;
+                        } else {
+                            Subtask subtask = GSON.fromJson(requestBody, Subtask.class);
+                            if (isNew) {
+                                manager.addNewSubtask(subtask);
+                                responseBody = "New subtask was added!";
+                                responseCode = 201;
                             } else {
-                                Subtask subtask = GSON.fromJson(requestBody, Subtask.class);
-                                if (isNew) {
-                                    manager.addNewSubtask(subtask);
-                                    responseBody = "New subtask was added!";
-                                } else {
-                                    subtask.setId(id);
+                                subtask.setId(id);
+                                try {
                                     manager.updateSubtask(subtask);
                                     responseBody = "Subtask was updated!";
+                                    responseCode = 201;
+                                } catch (NoSuchTaskException e) {
+                                    responseBody = e.getMessage();
+                                    responseCode = 404;
+                                }
+                            }
+                        }
+                        break;
+                    case "DELETE":
+                        manager.deleteTaskById(id);
+                        responseCode = 200;
+                        responseBody = "Subtask was deleted!";
+                        break;
+                    default:
+                        responseBody = "Wrong request method!";
+                        responseCode = 405;
+                }
+                break;
+
+            case "/tasks/batch":
+
+                switch (requestMethod) {
+                    case "POST":
+                        requestBody = request.body;
+                        if (requestBody.isEmpty()) {
+                            responseBody = "Request body is empty!";
+                            responseCode = 400;
+                        } else {
+                            List<Task> newItems = new ArrayList<>();
+                            List<Task> existingItems = new ArrayList<>();
+                            for (JsonElement jsonItem : JsonParser.parseString(requestBody).getAsJsonArray()) {
+                                Task item = parseItem(jsonItem.getAsJsonObject());
+                                if (manager.containsItem(item.getId())) {
+                                    existingItems.add(item);
+                                } else {
+                                    newItems.add(item);
                                 }
+                            }
+                            try {
+                                manager.inTransaction(transaction -> {
+                                    if (!newItems.isEmpty()) {
+                                        transaction.addAll(newItems);
+                                    }
+                                    if (!existingItems.isEmpty()) {
+                                        transaction.updateAll(existingItems);
+                                    }
+                                });
+                                responseBody = "Batch was applied!";
                                 responseCode = 201;
+                            } catch (AddingAndUpdatingException | NoSuchTaskException e) {
+                                responseBody = e.getMessage();
+                                responseCode = 400;
                             }
-                            break;
-                        case "DELETE":
-                            manager.deleteTaskById(id);
+                        }
+                        break;
+                    case "DELETE":
+                        requestBody = request.body;
+                        if (requestBody.isEmpty()) {
+                            responseBody = "Request body is empty!";
+                            responseCode = 400;
+                        } else {
+                            List<Integer> ids = GSON.fromJson(requestBody,
+                                    new TypeToken<List<Integer>>() {}.getType());
+                            manager.deleteAll(ids);
+                            responseBody = "Batch was deleted!";
                             responseCode = 200;
-                            responseBody = "Subtask was deleted!";
-                            break;
-                        default:
-                            responseBody = "Wrong request method!";
-                            responseCode = 405;
-                    }
-                    break;
+                        }
+                        break;
+                    default:
+                        responseBody = "Wrong request method!";
+                        responseCode = 405;
+                }
+                break;
+
+            default:
+                throw new HttpException("Unknown request path!");
+        }
 
-                default:
-                    throw new HttpException("Unknown request path!");
+        return new Response(responseBody, responseCode);
+    }
+
+    private Task recordView(String sessionId, Task item) {
+        if (sessionId != null) {
+            sessionHistories.add(sessionId, item);
+        }
+        return item;
+    }
+
+    private List<Task> getHistory(TaskManager manager, String sessionId) {
+        if (sessionId == null) {
+            return manager.getHistory();
+        }
+        List<Task> history = new ArrayList<>();
+        for (Task item : sessionHistories.getHistory(sessionId)) {
+            if (manager.containsItem(item.getId())) {
+                history.add(item);
             }
+        }
+        return history;
+    }
+
+    private Task parseItem(JsonObject jsonItem) {
+        JsonElement jsonType = jsonItem.get("type");
+        Type type = jsonType == null ? Type.TASK : Type.valueOf(jsonType.getAsString());
+        switch (type) {
+            case EPIC:
+                return GSON.fromJson(jsonItem, Epic.class);
+            case SUBTASK:
+                return GSON.fromJson(jsonItem, Subtask.class);
+            default:
+                return GSON.fromJson(jsonItem, Task.class);
+        }
+    }
 
-            sendResponse(exchange, responseBody, responseCode);
+    private List<Task> getPrioritizedTasks(TaskManager manager, Map<String, String> query) {
+        int limit = Integer.parseInt(query.getOrDefault("limit", String.valueOf(Integer.MAX_VALUE)));
+        if (query.containsKey("from") || query.containsKey("to")) {
+            LocalDateTime from = query.containsKey("from")
+                    ? LocalDateTime.parse(query.get("from"), DT_FORMATTER) : LocalDateTime.MIN;
+            LocalDateTime to = query.containsKey("to")
+                    ? LocalDateTime.parse(query.get("to"), DT_FORMATTER) : LocalDateTime.MAX;
+            return manager.getPrioritizedTasksBetween(from, to, limit);
+        } else if (query.containsKey("after")) {
+            return manager.getPrioritizedTasksAfter(Integer.parseInt(query.get("after")), limit);
+        } else if (query.containsKey("offset") || query.containsKey("limit")) {
+            return manager.getPrioritizedTasks(Integer.parseInt(query.getOrDefault("offset", "0")), limit);
         }
+        return manager.getPrioritizedTasks();
+    }
+
+    private List<LocalDateTime> findFreeSlots(TaskManager manager, Map<String, String> query) {
+        LocalDateTime from = query.containsKey("from")
+                ? LocalDateTime.parse(query.get("from"), DT_FORMATTER)
+                : LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+        long duration = Long.parseLong(query.getOrDefault("duration", "0"));
+        int count = Integer.parseInt(query.getOrDefault("count", "1"));
+        return manager.findFreeSlots(from, duration, count);
+    }
+
+    private static Map<String, String> parseQuery(URI requestURI) {
+        Map<String, String> query = new HashMap<>();
+        if (requestURI.getQuery() != null) {
+            for (String parameter : requestURI.getQuery().split("&")) {
+                String[] pair = parameter.split("=", 2);
+                query.put(pair[0], pair.length > 1 ? pair[1] : "");
+            }
+        }
+        return query;
     }
 
     private void sendResponse(HttpExchange exchange, String responseBody, int responseCode) throws IOException {
@@ -238,10 +503,38 @@ public class HttpTaskServer {
         }
     }
 
-    private String readRequestBodyText(HttpExchange exchange) throws IOException {
+    private static String readRequestBodyText(HttpExchange exchange) throws IOException {
         return new String(exchange.getRequestBody().readAllBytes(), DEFAULT_CHARSET);
     }
 
+    private static class Request {
+
+        private final String path;
+        private final String method;
+        private final Map<String, String> query;
+        private final String body;
+        private final String sessionId;
+
+        private Request(HttpExchange exchange, String path, String sessionId) throws IOException {
+            this.path = path;
+            this.method = exchange.getRequestMethod();
+            this.query = parseQuery(exchange.getRequestURI());
+            this.body = readRequestBodyText(exchange);
+            this.sessionId = sessionId;
+        }
+    }
+
+    private static class Response {
+
+        private final String body;
+        private final int code;
+
+        private Response(String body, int code) {
+            this.body = body;
+            this.code = code;
+        }
+    }
+
 }
 
 
@@ -1,15 +1,24 @@
 package taskmanager.model;
 
+import taskmanager.util.IntOrderedSet;
+
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.TreeMap;
 
 public class Epic extends Task {
 
-    private List<Integer> subTasksIdList = new ArrayList<>();
+    private IntOrderedSet subTasksIdList = new IntOrderedSet();
     private LocalDateTime endTime;
 
+    private transient int[] subtasksStatusCounts = new int[Status.values().length];
+    private transient int subtasksCount;
+    private transient long subtasksDuration;
+    private transient TreeMap<LocalDateTime, Integer> subtasksStartTimes = new TreeMap<>();
+    private transient TreeMap<LocalDateTime, Integer> subtasksEndTimes = new TreeMap<>();
+
     @Override
     public Type getType() {
         return Type.EPIC;
@@ -20,7 +29,7 @@ public class Epic extends Task {
     }
 
     public void setSubTasksIdList(List<Integer> subTasksIdList) {
-        this.subTasksIdList = subTasksIdList;
+        this.subTasksIdList = new IntOrderedSet(subTasksIdList);
     }
 
     public void addSubtasksIdToEpicList(int subtasksId) {
@@ -28,7 +37,67 @@ public class Epic extends Task {
     }
 
     public void removeSubtaskIdFromEpicList(int subtasksId) {
-        subTasksIdList.remove((Integer) subtasksId);
+        subTasksIdList.removeValue(subtasksId);
+    }
+
+    public void addSubtask(Subtask subtask) {
+        if (subTasksIdList.add(subtask.getId())) {
+            addSubtaskFields(subtask);
+        }
+    }
+
+    public void removeSubtask(Subtask subtask) {
+        if (subTasksIdList.removeValue(subtask.getId())) {
+            removeSubtaskFields(subtask);
+        }
+    }
+
+    public void clearSubtasks() {
+        subTasksIdList = new IntOrderedSet();
+        subtasksStatusCounts = new int[Status.values().length];
+        subtasksCount = 0;
+        subtasksDuration = 0;
+        subtasksStartTimes = new TreeMap<>();
+        subtasksEndTimes = new TreeMap<>();
+        refreshSubtaskFields();
+    }
+
+    public void addSubtaskFields(Subtask subtask) {
+        aggregateSubtaskFields(subtask, 1);
+    }
+
+    public void removeSubtaskFields(Subtask subtask) {
+        aggregateSubtaskFields(subtask, -1);
+    }
+
+    private void aggregateSubtaskFields(Subtask subtask, int sign) {
+        subtasksCount += sign;
+        if (subtask.getStatus() != null) {
+            subtasksStatusCounts[subtask.getStatus().ordinal()] += sign;
+        }
+        subtasksDuration += sign * subtask.getDuration();
+        if (subtask.getStartTime() != null) {
+            countTime(subtasksStartTimes, subtask.getStartTime(), sign);
+            countTime(subtasksEndTimes, subtask.getEndTime(), sign);
+        }
+        refreshSubtaskFields();
+    }
+
+    private void countTime(Map<LocalDateTime, Integer> times, LocalDateTime time, int sign) {
+        times.merge(time, sign, (count, change) -> count + change == 0 ? null : count + change);
+    }
+
+    private void refreshSubtaskFields() {
+        if (subtasksCount == 0 || subtasksStatusCounts[Status.NEW.ordinal()] == subtasksCount) {
+            setStatus(Status.NEW);
+        } else if (subtasksStatusCounts[Status.DONE.ordinal()] == subtasksCount) {
+            setStatus(Status.DONE);
+        } else {
+            setStatus(Status.IN_PROGRESS);
+        }
+        setDuration(subtasksDuration);
+        setStartTime(subtasksStartTimes.isEmpty() ? null : subtasksStartTimes.firstKey());
+        setEndTime(subtasksEndTimes.isEmpty() ? null : subtasksEndTimes.lastKey());
     }
 
     public void setEndTime(LocalDateTime endTime) {
@@ -40,6 +109,15 @@ public class Epic extends Task {
         return this.endTime;
     }
 
+    @Override
+    public Epic copy() {
+        Epic copy = new Epic();
+        copyFieldsTo(copy);
+        copy.subTasksIdList = new IntOrderedSet(subTasksIdList);
+        copy.endTime = endTime;
+        return copy;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -17,6 +17,14 @@ public class Subtask extends Task {
         this.epicId = epicId;
     }
 
+    @Override
+    public Subtask copy() {
+        Subtask copy = new Subtask();
+        copyFieldsTo(copy);
+        copy.epicId = epicId;
+        return copy;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
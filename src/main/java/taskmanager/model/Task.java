@@ -73,6 +73,21 @@ public class Task {
         }
     }
 
+    public Task copy() {
+        Task copy = new Task();
+        copyFieldsTo(copy);
+        return copy;
+    }
+
+    protected void copyFieldsTo(Task copy) {
+        copy.id = id;
+        copy.status = status;
+        copy.title = title;
+        copy.description = description;
+        copy.startTime = startTime;
+        copy.duration = duration;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,330 @@
+package taskmanager.service;
+
+import taskmanager.exceptions.NoSuchTaskException;
+import taskmanager.model.Epic;
+import taskmanager.model.Status;
+import taskmanager.model.Subtask;
+import taskmanager.model.Task;
+import taskmanager.model.Type;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+public class ArchiveTaskManager implements TaskManager, TaskEventListener, AutoCloseable {
+
+    private final InMemoryTaskManager source;
+    private final ColumnarTaskStore store;
+
+    public ArchiveTaskManager(InMemoryTaskManager source) {
+        this.source = source;
+        this.store = ColumnarTaskStore.of(source.getAllItems());
+        source.subscribe(this);
+    }
+
+    @Override
+    public synchronized void onEvent(TaskEvent event) {
+        switch (event.getType()) {
+            case CREATED:
+            case UPDATED:
+                store.put(event.getCurrent());
+                break;
+            case DELETED:
+                if (store.contains(event.getItemId())) {
+                    store.remove(event.getItemId());
+                }
+                break;
+            case CLEARED:
+                store.clear();
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void close() {
+        source.unsubscribe(this);
+    }
+
+    @Override
+    public List<Task> getHistory() {
+        return List.of();
+    }
+
+    @Override
+    public synchronized Task getTask(int taskId) {
+        return typedItem(taskId, Type.TASK);
+    }
+
+    @Override
+    public synchronized Epic getEpic(int epicId) {
+        return (Epic) typedItem(epicId, Type.EPIC);
+    }
+
+    @Override
+    public synchronized Subtask getSubtask(int subtaskId) {
+        return (Subtask) typedItem(subtaskId, Type.SUBTASK);
+    }
+
+    @Override
+    public synchronized Task getTaskById(int id) {
+        idCheck(id);
+        return store.get(id);
+    }
+
+    @Override
+    public synchronized boolean containsItem(int id) {
+        return store.contains(id);
+    }
+
+    @Override
+    public synchronized List<Task> getAllItems() {
+        List<Task> items = itemsOfType(Type.TASK);
+        items.addAll(itemsOfType(Type.EPIC));
+        items.addAll(itemsOfType(Type.SUBTASK));
+        return items;
+    }
+
+    @Override
+    public synchronized List<Task> getAllTasks() {
+        return itemsOfType(Type.TASK);
+    }
+
+    @Override
+    public synchronized List<Epic> getAllEpics() {
+        List<Epic> epics = new ArrayList<>();
+        for (Task item : itemsOfType(Type.EPIC)) {
+            epics.add((Epic) item);
+        }
+        return epics;
+    }
+
+    @Override
+    public synchronized List<Subtask> getAllSubtasks() {
+        List<Subtask> subtasks = new ArrayList<>();
+        for (Task item : itemsOfType(Type.SUBTASK)) {
+            subtasks.add((Subtask) item);
+        }
+        return subtasks;
+    }
+
+    @Override
+    public synchronized List<Task> getTasksByType(Type type) {
+        return itemsOfType(type);
+    }
+
+    @Override
+    public synchronized List<Subtask> getEpicsSubtasksById(int epicId) {
+        idCheck(epicId);
+        Task epic = store.get(epicId);
+        if (epic.getType() != Type.EPIC) {
+            throw new NoSuchTaskException("Unable to get subtasks! There's no epics with such epicId");
+        } else if (((Epic) epic).getSubTasksIdList().isEmpty()) {
+            throw new NoSuchTaskException("Epic has no subtasks!");
+        }
+        List<Subtask> subtasks = new ArrayList<>();
+        for (int subtaskId : ((Epic) epic).getSubTasksIdList()) {
+            subtasks.add((Subtask) store.get(subtaskId));
+        }
+        return subtasks;
+    }
+
+    @Override
+    public synchronized List<Task> find(Status status, Type type) {
+        return store.find(status, type);
+    }
+
+    @Override
+    public synchronized List<Subtask> findEpicSubtasks(int epicId, Status status) {
+        idCheck(epicId);
+        if (store.get(epicId).getType() != Type.EPIC) {
+            throw new NoSuchTaskException("Unable to get subtasks! There's no epics with such epicId");
+        }
+        List<Subtask> subtasks = new ArrayList<>();
+        for (Task item : store.find(status, Type.SUBTASK)) {
+            if (((Subtask) item).getEpicId() == epicId) {
+                subtasks.add((Subtask) item);
+            }
+        }
+        return subtasks;
+    }
+
+    @Override
+    public synchronized int count(Status status, Type type) {
+        return store.count(status, type);
+    }
+
+    @Override
+    public List<Task> search(String query, int limit) {
+        return source.search(query, limit);
+    }
+
+    @Override
+    public synchronized List<Task> getPrioritizedTasks() {
+        return prioritized(store.getAllItems());
+    }
+
+    @Override
+    public synchronized List<Task> getPrioritizedTasks(int offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset can't be negative!");
+        }
+        List<Task> items = prioritized(store.getAllItems());
+        return items.subList(Math.min(offset, items.size()), Math.min(offset + Math.max(limit, 0), items.size()));
+    }
+
+    @Override
+    public synchronized List<Task> getPrioritizedTasksAfter(int cursorId, int limit) {
+        List<Task> items = prioritized(store.getAllItems());
+        int from = 0;
+        if (cursorId != 0) {
+            idCheck(cursorId);
+            Task cursor = store.get(cursorId);
+            while (from < items.size() && InMemoryTaskManager.PRIORITY_ORDER.compare(items.get(from), cursor) <= 0) {
+                from++;
+            }
+        }
+        return items.subList(from, Math.min(from + Math.max(limit, 0), items.size()));
+    }
+
+    @Override
+    public synchronized List<Task> getPrioritizedTasksBetween(LocalDateTime from, LocalDateTime to, int limit) {
+        if (!from.isBefore(to)) {
+            return List.of();
+        }
+        List<Task> items = prioritized(store.findStartingBetween(from, to));
+        return items.subList(0, Math.min(Math.max(limit, 0), items.size()));
+    }
+
+    @Override
+    public LocalDateTime findFreeSlot(LocalDateTime earliestStart, long duration) {
+        return source.findFreeSlot(earliestStart, duration);
+    }
+
+    @Override
+    public List<LocalDateTime> findFreeSlots(LocalDateTime earliestStart, long duration, int count) {
+        return source.findFreeSlots(earliestStart, duration, count);
+    }
+
+    @Override
+    public int getIdField() {
+        return source.getIdField();
+    }
+
+    @Override
+    public void updateTask(Task newTask) {
+        throw readOnly();
+    }
+
+    @Override
+    public void addNewTask(Task task) {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateEpic(Epic newEpic) {
+        throw readOnly();
+    }
+
+    @Override
+    public void addNewEpic(Epic epic) {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateSubtask(Subtask newSubtask) {
+        throw readOnly();
+    }
+
+    @Override
+    public void addNewSubtask(Subtask subtask) {
+        throw readOnly();
+    }
+
+    @Override
+    public void addAll(List<? extends Task> items) {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateAll(List<? extends Task> items) {
+        throw readOnly();
+    }
+
+    @Override
+    public void deleteAll(List<Integer> ids) {
+        throw readOnly();
+    }
+
+    @Override
+    public void inTransaction(Consumer<TaskManager> transaction) {
+        throw readOnly();
+    }
+
+    @Override
+    public void deleteAllItems() {
+        throw readOnly();
+    }
+
+    @Override
+    public void deleteTaskById(int id) {
+        throw readOnly();
+    }
+
+    @Override
+    public void deleteTasksByType(Type type) {
+        throw readOnly();
+    }
+
+    @Override
+    public List<Task> scheduleTasks(LocalDateTime earliestStart) {
+        throw readOnly();
+    }
+
+    @Override
+    public List<Task> scheduleTasks(List<Integer> ids, LocalDateTime earliestStart) {
+        throw readOnly();
+    }
+
+    private Task typedItem(int id, Type type) {
+        idCheck(id);
+        Task item = store.get(id);
+        return item.getType() == type ? item : null;
+    }
+
+    private List<Task> itemsOfType(Type type) {
+        List<Task> items = new ArrayList<>();
+        for (Task item : store.getAllItems()) {
+            if (item.getType() == type) {
+                items.add(item);
+            }
+        }
+        return items;
+    }
+
+    private static List<Task> prioritized(List<Task> items) {
+        List<Task> list = new ArrayList<>(items.size());
+        for (Task item : items) {
+            if (item.getType() != Type.EPIC) {
+                list.add(item);
+            }
+        }
+        list.sort(InMemoryTaskManager.PRIORITY_ORDER);
+        return list;
+    }
+
+    private void idCheck(int id) {
+        if (id == 0) {
+            throw new NoSuchTaskException("Task has no id!");
+        } else if (!store.contains(id)) {
+            throw new NoSuchTaskException("There's no task with such id!");
+        }
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("Archive is read-only!");
+    }
+
+}
@@ -0,0 +1,83 @@
+package taskmanager.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+public class AsyncTaskEventListener implements TaskEventListener, AutoCloseable {
+
+    private static final System.Logger LOGGER = System.getLogger(AsyncTaskEventListener.class.getName());
+
+    private final TaskEventListener delegate;
+    private final BiConsumer<TaskEvent, RuntimeException> errorHandler;
+    private final BlockingQueue<TaskEvent> queue;
+    private final Thread deliveryThread;
+    private volatile boolean closed;
+
+    public AsyncTaskEventListener(TaskEventListener delegate, int queueCapacity) {
+        this(delegate, queueCapacity, (event, e) -> LOGGER.log(System.Logger.Level.ERROR,
+                "Unable to deliver event " + event.getSequence() + " " + event.getType(), e));
+    }
+
+    public AsyncTaskEventListener(TaskEventListener delegate, int queueCapacity,
+                                  BiConsumer<TaskEvent, RuntimeException> errorHandler) {
+        this.delegate = delegate;
+        this.errorHandler = errorHandler;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.deliveryThread = new Thread(this::deliver, "task-event-delivery");
+        deliveryThread.setDaemon(true);
+        deliveryThread.start();
+    }
+
+    @Override
+    public synchronized void onEvent(TaskEvent event) {
+        if (closed) {
+            throw new IllegalStateException("Listener is already closed!");
+        }
+        boolean interrupted = false;
+        while (true) {
+            try {
+                queue.put(event);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        try {
+            deliveryThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void deliver() {
+        while (!closed || !queue.isEmpty()) {
+            TaskEvent event;
+            try {
+                event = queue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                continue;
+            }
+            if (event == null) {
+                continue;
+            }
+            try {
+                delegate.onEvent(event);
+            } catch (RuntimeException e) {
+                errorHandler.accept(event, e);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,271 @@
+package taskmanager.service;
+
+import taskmanager.exceptions.ManagerSaveException;
+import taskmanager.model.Epic;
+import taskmanager.model.Status;
+import taskmanager.model.Subtask;
+import taskmanager.model.Task;
+import taskmanager.model.Type;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+public class BinarySnapshot {
+
+    public static final int MAGIC = 0x4A4B4253;
+    public static final int VERSION = 1;
+    private static final Type[] TYPES = Type.values();
+    private static final Status[] STATUSES = Status.values();
+
+    private final List<Task> items;
+    private final int idField;
+    private final List<Integer> historyIds;
+
+    public BinarySnapshot(List<Task> items, int idField, List<Integer> historyIds) {
+        this.items = items;
+        this.idField = idField;
+        this.historyIds = historyIds;
+    }
+
+    public List<Task> getItems() {
+        return items;
+    }
+
+    public int getIdField() {
+        return idField;
+    }
+
+    public List<Integer> getHistoryIds() {
+        return historyIds;
+    }
+
+    public byte[] encode() {
+        Output output = new Output(items.size() * 32 + historyIds.size() * 3 + 16);
+        output.writeInt(MAGIC);
+        output.write(VERSION);
+        output.writeVarLong(idField);
+        output.writeVarLong(items.size());
+        for (Task item : items) {
+            output.write(item.getType().ordinal());
+            output.writeVarLong(item.getId());
+            output.writeString(item.getTitle());
+            output.write(item.getStatus() == null ? 0 : item.getStatus().ordinal() + 1);
+            output.writeString(item.getDescription());
+            output.writeTime(item.getStartTime());
+            output.writeVarLong(zigZag(item.getDuration()));
+            if (item.getType() == Type.EPIC) {
+                Epic epic = (Epic) item;
+                output.writeTime(epic.getEndTime());
+                List<Integer> subtaskIds = epic.getSubTasksIdList();
+                output.writeVarLong(subtaskIds.size());
+                for (int subtaskId : subtaskIds) {
+                    output.writeVarLong(subtaskId);
+                }
+            } else if (item.getType() == Type.SUBTASK) {
+                output.writeVarLong(((Subtask) item).getEpicId());
+            }
+        }
+        output.writeVarLong(historyIds.size());
+        for (int historyId : historyIds) {
+            output.writeVarLong(historyId);
+        }
+        CRC32 checksum = new CRC32();
+        checksum.update(output.buffer(), 0, output.size());
+        output.writeInt((int) checksum.getValue());
+        return output.toByteArray();
+    }
+
+    public static BinarySnapshot decode(ByteBuffer buffer) {
+        int start = buffer.position();
+        if (buffer.remaining() < 9 || buffer.getInt() != MAGIC) {
+            throw new ManagerSaveException("File is not a binary snapshot!", null);
+        }
+        int version = buffer.get();
+        if (version != VERSION) {
+            throw new ManagerSaveException("Unsupported binary snapshot version " + version + "!", null);
+        }
+        int end = buffer.limit() - Integer.BYTES;
+        CRC32 checksum = new CRC32();
+        checksum.update(buffer.duplicate().position(start).limit(end));
+        if ((int) checksum.getValue() != buffer.getInt(end)) {
+            throw new ManagerSaveException("Binary snapshot checksum mismatch!", null);
+        }
+        try {
+            int idField = (int) readVarLong(buffer);
+            int itemCount = (int) readVarLong(buffer);
+            List<Task> items = new ArrayList<>(itemCount);
+            for (int i = 0; i < itemCount; i++) {
+                items.add(readItem(buffer));
+            }
+            int historySize = (int) readVarLong(buffer);
+            List<Integer> historyIds = new ArrayList<>(historySize);
+            for (int i = 0; i < historySize; i++) {
+                historyIds.add((int) readVarLong(buffer));
+            }
+            return new BinarySnapshot(items, idField, historyIds);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new ManagerSaveException("Binary snapshot is truncated!", e);
+        }
+    }
+
+    private static Task readItem(ByteBuffer buffer) {
+        Task item;
+        Type type = TYPES[buffer.get()];
+        switch (type) {
+            case EPIC:
+                item = new Epic();
+                break;
+            case SUBTASK:
+                item = new Subtask();
+                break;
+            default:
+                item = new Task();
+        }
+        item.setId((int) readVarLong(buffer));
+        item.setTitle(readString(buffer));
+        int status = buffer.get();
+        if (status != 0) {
+            item.setStatus(STATUSES[status - 1]);
+        }
+        item.setDescription(readString(buffer));
+        item.setStartTime(readTime(buffer));
+        item.setDuration(unZigZag(readVarLong(buffer)));
+        if (type == Type.EPIC) {
+            Epic epic = (Epic) item;
+            epic.setEndTime(readTime(buffer));
+            int subtaskCount = (int) readVarLong(buffer);
+            List<Integer> subtaskIds = new ArrayList<>(subtaskCount);
+            for (int i = 0; i < subtaskCount; i++) {
+                subtaskIds.add((int) readVarLong(buffer));
+            }
+            epic.setSubTasksIdList(subtaskIds);
+        } else if (type == Type.SUBTASK) {
+            ((Subtask) item).setEpicId((int) readVarLong(buffer));
+        }
+        return item;
+    }
+
+    private static long readVarLong(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = (int) readVarLong(buffer);
+        if (length == 0) {
+            return null;
+        }
+        length--;
+        String value;
+        if (buffer.hasArray()) {
+            value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+                    StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+        } else {
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+
+    private static LocalDateTime readTime(ByteBuffer buffer) {
+        long value = readVarLong(buffer);
+        if (value == 0) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(unZigZag(value - 1) * 60, 0, ZoneOffset.UTC);
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static class Output {
+
+        private byte[] buffer;
+        private int size;
+
+        private Output(int capacity) {
+            buffer = new byte[Math.max(capacity, 16)];
+        }
+
+        private byte[] buffer() {
+            return buffer;
+        }
+
+        private int size() {
+            return size;
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+        private void write(int value) {
+            if (size == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        private void writeBytes(byte[] bytes) {
+            if (size + bytes.length > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + bytes.length));
+            }
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        private void writeInt(int value) {
+            write(value >>> 24);
+            write(value >>> 16);
+            write(value >>> 8);
+            write(value);
+        }
+
+        private void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        private void writeString(String value) {
+            if (value == null) {
+                writeVarLong(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length + 1L);
+            writeBytes(bytes);
+        }
+
+        private void writeTime(LocalDateTime time) {
+            if (time == null) {
+                writeVarLong(0);
+                return;
+            }
+            writeVarLong(zigZag(Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60)) + 1);
+        }
+    }
+}
@@ -0,0 +1,382 @@
+package taskmanager.service;
+
+import taskmanager.exceptions.NoSuchTaskException;
+import taskmanager.model.Epic;
+import taskmanager.model.Status;
+import taskmanager.model.Subtask;
+import taskmanager.model.Task;
+import taskmanager.model.Type;
+import taskmanager.util.IntHashMap;
+import taskmanager.util.IntOrderedSet;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+public class ColumnarTaskStore {
+
+    private static final byte REMOVED = -1;
+    private static final byte NO_STATUS = -1;
+    private static final long NO_TIME = Long.MIN_VALUE;
+    private static final int NO_STRING = -1;
+    private static final long NO_OFFSET = -1;
+    private static final int ARENA_PAGE_SIZE = 1 << 20;
+    private static final int MIN_COMPACTION_ROWS = 16;
+    private static final Type[] TYPES = Type.values();
+    private static final Status[] STATUSES = Status.values();
+
+    private int[] ids;
+    private byte[] types;
+    private byte[] statuses;
+    private long[] startMinutes;
+    private long[] endMinutes;
+    private long[] durations;
+    private int[] epicIds;
+    private long[] titleOffsets;
+    private int[] titleLengths;
+    private long[] descriptionOffsets;
+    private int[] descriptionLengths;
+    private List<StringBuilder> arenaPages = new ArrayList<>();
+    private final IntHashMap<Integer> rowsById = new IntHashMap<>();
+    private final IntHashMap<IntOrderedSet> subtasksByEpic = new IntHashMap<>();
+    private int rows;
+    private int removedRows;
+    private long liveChars;
+    private long deadChars;
+
+    public ColumnarTaskStore() {
+        this(16);
+    }
+
+    public ColumnarTaskStore(int expectedSize) {
+        allocate(Math.max(expectedSize, 16));
+    }
+
+    public static ColumnarTaskStore of(Collection<? extends Task> items) {
+        ColumnarTaskStore store = new ColumnarTaskStore(items.size());
+        for (Task item : items) {
+            store.put(item);
+        }
+        return store;
+    }
+
+    public void put(Task item) {
+        Integer existingRow = rowsById.get(item.getId());
+        int row;
+        int epicId = item.getType() == Type.SUBTASK ? ((Subtask) item).getEpicId() : 0;
+        if (existingRow != null) {
+            row = existingRow;
+            if (epicIds[row] != epicId) {
+                unlinkSubtask(row);
+            }
+        } else {
+            if (rows == ids.length) {
+                allocate(rows * 2);
+            }
+            row = rows++;
+            rowsById.put(item.getId(), Integer.valueOf(row));
+        }
+        ids[row] = item.getId();
+        types[row] = (byte) item.getType().ordinal();
+        statuses[row] = item.getStatus() == null ? NO_STATUS : (byte) item.getStatus().ordinal();
+        startMinutes[row] = toMinutes(item.getStartTime());
+        endMinutes[row] = toMinutes(item.getEndTime());
+        durations[row] = item.getDuration();
+        if (existingRow == null || !isStored(titleOffsets[row], titleLengths[row], item.getTitle())) {
+            if (existingRow != null) {
+                releaseString(titleLengths[row]);
+            }
+            titleOffsets[row] = appendString(item.getTitle());
+            titleLengths[row] = item.getTitle() == null ? NO_STRING : item.getTitle().length();
+        }
+        if (existingRow == null
+                || !isStored(descriptionOffsets[row], descriptionLengths[row], item.getDescription())) {
+            if (existingRow != null) {
+                releaseString(descriptionLengths[row]);
+            }
+            descriptionOffsets[row] = appendString(item.getDescription());
+            descriptionLengths[row] = item.getDescription() == null ? NO_STRING : item.getDescription().length();
+        }
+        epicIds[row] = epicId;
+        if (item.getType() == Type.SUBTASK) {
+            IntOrderedSet subtasks = subtasksByEpic.get(epicId);
+            if (subtasks == null) {
+                subtasks = new IntOrderedSet();
+                subtasksByEpic.put(epicId, subtasks);
+            }
+            subtasks.add(item.getId());
+        }
+        compactIfNeeded();
+    }
+
+    public boolean contains(int id) {
+        return rowsById.containsKey(id);
+    }
+
+    public Task get(int id) {
+        Integer row = rowsById.get(id);
+        if (row == null) {
+            throw new NoSuchTaskException("There's no task with such id!");
+        }
+        return materialize(row);
+    }
+
+    public void remove(int id) {
+        Integer row = rowsById.remove(id);
+        if (row == null) {
+            throw new NoSuchTaskException("There's no task with such id!");
+        }
+        unlinkSubtask(row);
+        types[row] = REMOVED;
+        releaseString(titleLengths[row]);
+        releaseString(descriptionLengths[row]);
+        removedRows++;
+        compactIfNeeded();
+    }
+
+    public void clear() {
+        rowsById.clear();
+        subtasksByEpic.clear();
+        arenaPages = new ArrayList<>();
+        rows = 0;
+        removedRows = 0;
+        liveChars = 0;
+        deadChars = 0;
+    }
+
+    public int size() {
+        return rowsById.size();
+    }
+
+    public int count(Status status, Type type) {
+        byte statusCode = status == null ? NO_STATUS : (byte) status.ordinal();
+        byte typeCode = (byte) type.ordinal();
+        int count = 0;
+        for (int row = 0; row < rows; row++) {
+            if (types[row] == typeCode && statuses[row] == statusCode) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public List<Task> find(Status status, Type type) {
+        byte statusCode = status == null ? NO_STATUS : (byte) status.ordinal();
+        byte typeCode = (byte) type.ordinal();
+        List<Task> items = new ArrayList<>();
+        for (int row = 0; row < rows; row++) {
+            if (types[row] == typeCode && statuses[row] == statusCode) {
+                items.add(materialize(row));
+            }
+        }
+        return items;
+    }
+
+    public List<Task> findStartingBetween(LocalDateTime from, LocalDateTime to) {
+        long fromMinutes = toMinutes(from);
+        long toMinutes = toMinutes(to);
+        List<Task> items = new ArrayList<>();
+        for (int row = 0; row < rows; row++) {
+            if (types[row] != REMOVED && startMinutes[row] != NO_TIME
+                    && startMinutes[row] >= fromMinutes && startMinutes[row] < toMinutes) {
+                items.add(materialize(row));
+            }
+        }
+        return items;
+    }
+
+    public List<Task> getAllItems() {
+        List<Task> items = new ArrayList<>(size());
+        for (int row = 0; row < rows; row++) {
+            if (types[row] != REMOVED) {
+                items.add(materialize(row));
+            }
+        }
+        return items;
+    }
+
+    private Task materialize(int row) {
+        Task item;
+        switch (TYPES[types[row]]) {
+            case EPIC:
+                Epic epic = new Epic();
+                IntOrderedSet subtasks = subtasksByEpic.get(ids[row]);
+                if (subtasks != null) {
+                    epic.setSubTasksIdList(subtasks);
+                }
+                epic.setEndTime(toDateTime(endMinutes[row]));
+                item = epic;
+                break;
+            case SUBTASK:
+                Subtask subtask = new Subtask();
+                subtask.setEpicId(epicIds[row]);
+                item = subtask;
+                break;
+            default:
+                item = new Task();
+        }
+        item.setId(ids[row]);
+        item.setStatus(statuses[row] == NO_STATUS ? null : STATUSES[statuses[row]]);
+        item.setTitle(readString(titleOffsets[row], titleLengths[row]));
+        item.setDescription(readString(descriptionOffsets[row], descriptionLengths[row]));
+        item.setStartTime(toDateTime(startMinutes[row]));
+        item.setDuration(durations[row]);
+        return item;
+    }
+
+    private void unlinkSubtask(int row) {
+        if (types[row] == Type.SUBTASK.ordinal()) {
+            IntOrderedSet subtasks = subtasksByEpic.get(epicIds[row]);
+            if (subtasks != null) {
+                subtasks.removeValue(ids[row]);
+            }
+        }
+    }
+
+    long arenaLength() {
+        return liveChars + deadChars;
+    }
+
+    int rowCount() {
+        return rows;
+    }
+
+    private void compactIfNeeded() {
+        boolean manyRemovedRows = removedRows >= MIN_COMPACTION_ROWS && removedRows * 2 > rows;
+        boolean manyDeadChars = deadChars >= ARENA_PAGE_SIZE / 16 && deadChars > liveChars;
+        if (manyRemovedRows || manyDeadChars) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        List<StringBuilder> oldPages = arenaPages;
+        int[] oldIds = ids;
+        byte[] oldTypes = types;
+        byte[] oldStatuses = statuses;
+        long[] oldStartMinutes = startMinutes;
+        long[] oldEndMinutes = endMinutes;
+        long[] oldDurations = durations;
+        int[] oldEpicIds = epicIds;
+        long[] oldTitleOffsets = titleOffsets;
+        int[] oldTitleLengths = titleLengths;
+        long[] oldDescriptionOffsets = descriptionOffsets;
+        int[] oldDescriptionLengths = descriptionLengths;
+        int oldRows = rows;
+        ids = null;
+        types = null;
+        statuses = null;
+        startMinutes = null;
+        endMinutes = null;
+        durations = null;
+        epicIds = null;
+        titleOffsets = null;
+        titleLengths = null;
+        descriptionOffsets = null;
+        descriptionLengths = null;
+        allocate(Math.max(rowsById.size(), 16));
+        arenaPages = new ArrayList<>();
+        liveChars = 0;
+        deadChars = 0;
+        rows = 0;
+        removedRows = 0;
+        for (int oldRow = 0; oldRow < oldRows; oldRow++) {
+            if (oldTypes[oldRow] == REMOVED) {
+                continue;
+            }
+            int row = rows++;
+            ids[row] = oldIds[oldRow];
+            types[row] = oldTypes[oldRow];
+            statuses[row] = oldStatuses[oldRow];
+            startMinutes[row] = oldStartMinutes[oldRow];
+            endMinutes[row] = oldEndMinutes[oldRow];
+            durations[row] = oldDurations[oldRow];
+            epicIds[row] = oldEpicIds[oldRow];
+            titleOffsets[row] = appendString(readString(oldPages, oldTitleOffsets[oldRow], oldTitleLengths[oldRow]));
+            titleLengths[row] = oldTitleLengths[oldRow];
+            descriptionOffsets[row] = appendString(
+                    readString(oldPages, oldDescriptionOffsets[oldRow], oldDescriptionLengths[oldRow]));
+            descriptionLengths[row] = oldDescriptionLengths[oldRow];
+            rowsById.put(ids[row], Integer.valueOf(row));
+        }
+    }
+
+    private long appendString(String value) {
+        if (value == null) {
+            return NO_OFFSET;
+        }
+        StringBuilder page = arenaPages.isEmpty() ? null : arenaPages.get(arenaPages.size() - 1);
+        if (page == null || (page.length() > 0 && page.length() + value.length() > ARENA_PAGE_SIZE)) {
+            page = new StringBuilder();
+            arenaPages.add(page);
+        }
+        long offset = ((long) (arenaPages.size() - 1) << 32) | page.length();
+        page.append(value);
+        liveChars += value.length();
+        return offset;
+    }
+
+    private void releaseString(int length) {
+        if (length != NO_STRING) {
+            liveChars -= length;
+            deadChars += length;
+        }
+    }
+
+    private boolean isStored(long offset, int length, String value) {
+        if (value == null || length == NO_STRING) {
+            return value == null && length == NO_STRING;
+        }
+        if (value.length() != length) {
+            return false;
+        }
+        StringBuilder page = arenaPages.get((int) (offset >>> 32));
+        int start = (int) offset;
+        for (int i = 0; i < length; i++) {
+            if (page.charAt(start + i) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String readString(long offset, int length) {
+        return readString(arenaPages, offset, length);
+    }
+
+    private static String readString(List<StringBuilder> pages, long offset, int length) {
+        if (length == NO_STRING) {
+            return null;
+        }
+        int start = (int) offset;
+        return pages.get((int) (offset >>> 32)).substring(start, start + length);
+    }
+
+    private void allocate(int capacity) {
+        ids = ids == null ? new int[capacity] : Arrays.copyOf(ids, capacity);
+        types = types == null ? new byte[capacity] : Arrays.copyOf(types, capacity);
+        statuses = statuses == null ? new byte[capacity] : Arrays.copyOf(statuses, capacity);
+        startMinutes = startMinutes == null ? new long[capacity] : Arrays.copyOf(startMinutes, capacity);
+        endMinutes = endMinutes == null ? new long[capacity] : Arrays.copyOf(endMinutes, capacity);
+        durations = durations == null ? new long[capacity] : Arrays.copyOf(durations, capacity);
+        epicIds = epicIds == null ? new int[capacity] : Arrays.copyOf(epicIds, capacity);
+        titleOffsets = titleOffsets == null ? new long[capacity] : Arrays.copyOf(titleOffsets, capacity);
+        titleLengths = titleLengths == null ? new int[capacity] : Arrays.copyOf(titleLengths, capacity);
+        descriptionOffsets = descriptionOffsets == null
+                ? new long[capacity] : Arrays.copyOf(descriptionOffsets, capacity);
+        descriptionLengths = descriptionLengths == null
+                ? new int[capacity] : Arrays.copyOf(descriptionLengths, capacity);
+    }
+
+    private static long toMinutes(LocalDateTime time) {
+        return time == null ? NO_TIME : Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    private static LocalDateTime toDateTime(long minutes) {
+        return minutes == NO_TIME ? null : LocalDateTime.ofEpochSecond(minutes * 60, 0, ZoneOffset.UTC);
+    }
+
+}
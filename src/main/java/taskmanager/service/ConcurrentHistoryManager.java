@@ -0,0 +1,103 @@
+package taskmanager.service;
+
+import taskmanager.model.Task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ConcurrentHistoryManager implements HistoryManager {
+
+    private static final int EVICTION_ATTEMPTS = 8;
+
+    private final int capacity;
+    private final AtomicLong viewSequence = new AtomicLong();
+    private volatile Views views = new Views();
+
+    public ConcurrentHistoryManager() {
+        this(InMemoryHistoryManager.DEFAULT_CAPACITY);
+    }
+
+    public ConcurrentHistoryManager(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("History capacity must be positive!");
+        }
+        this.capacity = capacity;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public List<Task> getHistory() {
+        Views current = views;
+        List<Task> list = new ArrayList<>(Math.min(current.latest.size(), capacity));
+        for (View view : current.order.descendingMap().values()) {
+            if (list.size() == capacity) {
+                break;
+            }
+            if (current.latest.get(view.task.getId()) == view) {
+                list.add(view.task);
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public void add(Task task) {
+        Views current = views;
+        View view = new View(viewSequence.incrementAndGet(), task);
+        View replacedView = current.latest.put(task.getId(), view);
+        current.order.put(view.sequence, view);
+        if (replacedView != null) {
+            current.order.remove(replacedView.sequence, replacedView);
+        }
+        if (current.latest.get(task.getId()) != view) {
+            current.order.remove(view.sequence, view);
+        }
+        for (int attempt = 0; attempt < EVICTION_ATTEMPTS && current.latest.size() > capacity; attempt++) {
+            Map.Entry<Long, View> oldest = current.order.pollFirstEntry();
+            if (oldest == null) {
+                break;
+            }
+            View oldestView = oldest.getValue();
+            current.latest.remove(oldestView.task.getId(), oldestView);
+        }
+    }
+
+    @Override
+    public void remove(int id) {
+        Views current = views;
+        View removedView = current.latest.remove(id);
+        if (removedView != null) {
+            current.order.remove(removedView.sequence, removedView);
+        }
+    }
+
+    @Override
+    public void clear() {
+        views = new Views();
+    }
+
+    private static class Views {
+
+        private final Map<Integer, View> latest = new ConcurrentHashMap<>();
+        private final ConcurrentNavigableMap<Long, View> order = new ConcurrentSkipListMap<>();
+    }
+
+    private static class View {
+
+        private final long sequence;
+        private final Task task;
+
+        private View(long sequence, Task task) {
+            this.sequence = sequence;
+            this.task = task;
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package taskmanager.service;
+
+import taskmanager.model.Epic;
+import taskmanager.model.Status;
+import taskmanager.model.Subtask;
+import taskmanager.model.Task;
+import taskmanager.model.Type;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+public class ConcurrentTaskManager extends InMemoryTaskManager implements ThreadSafeTaskManager {
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final ReadWriteLock structureLock = new ReentrantReadWriteLock();
+    private final Lock timeLock = new ReentrantLock();
+    private final Lock[] stripeLocks = new Lock[LOCK_STRIPES];
+
+    public ConcurrentTaskManager(HistoryManager historyManager) {
+        super(historyManager);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            stripeLocks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    protected <V> Map<Integer, V> createMap() {
+        return new ConcurrentHashMap<>();
+    }
+
+    @Override
+    protected NavigableSet<Task> createPrioritySet() {
+        return new ConcurrentSkipListSet<>(PRIORITY_ORDER);
+    }
+
+    @Override
+    public void addNewTask(Task task) {
+        mutate(0, () -> task.getStartTime() != null, () -> super.addNewTask(task));
+    }
+
+    @Override
+    public void updateTask(Task newTask) {
+        mutate(newTask.getId(), () -> isTimed(newTask) || isTimed(taskMap.get(newTask.getId())),
+                () -> super.updateTask(newTask));
+    }
+
+    @Override
+    public void addNewEpic(Epic epic) {
+        mutate(0, () -> false, () -> super.addNewEpic(epic));
+    }
+
+    @Override
+    public void updateEpic(Epic newEpic) {
+        mutate(newEpic.getId(), () -> false, () -> super.updateEpic(newEpic));
+    }
+
+    @Override
+    public void addNewSubtask(Subtask subtask) {
+        mutate(subtask.getEpicId(), () -> subtask.getStartTime() != null, () -> super.addNewSubtask(subtask));
+    }
+
+    @Override
+    public void updateSubtask(Subtask newSubtask) {
+        Subtask existingSubtask = subtaskMap.get(newSubtask.getId());
+        int epicId = existingSubtask == null ? 0 : existingSubtask.getEpicId();
+        mutate(epicId, () -> isTimed(newSubtask) || isTimed(existingSubtask), () -> super.updateSubtask(newSubtask));
+    }
+
+    @Override
+    public void addAll(List<? extends Task> items) {
+        restructure(() -> super.addAll(items));
+    }
+
+    @Override
+    public void updateAll(List<? extends Task> items) {
+        restructure(() -> super.updateAll(items));
+    }
+
+    @Override
+    public void deleteAll(List<Integer> ids) {
+        restructure(() -> super.deleteAll(ids));
+    }
+
+    @Override
+    public void inTransaction(Consumer<TaskManager> transaction) {
+        restructure(() -> super.inTransaction(transaction));
+    }
+
+    @Override
+    public List<Task> scheduleTasks(LocalDateTime earliestStart) {
+        return restructure(() -> super.scheduleTasks(earliestStart));
+    }
+
+    @Override
+    public List<Task> scheduleTasks(List<Integer> ids, LocalDateTime earliestStart) {
+        return restructure(() -> super.scheduleTasks(ids, earliestStart));
+    }
+
+    @Override
+    public void deleteAllItems() {
+        restructure(super::deleteAllItems);
+    }
+
+    @Override
+    public void deleteTaskById(int id) {
+        Task item = itemMap.get(id);
+        if (item == null || item.getType() == Type.EPIC) {
+            restructure(() -> super.deleteTaskById(id));
+        } else if (item.getType() == Type.SUBTASK) {
+            mutate(((Subtask) item).getEpicId(), () -> isTimed(item), () -> super.deleteTaskById(id));
+        } else {
+            mutate(id, () -> isTimed(item), () -> super.deleteTaskById(id));
+        }
+    }
+
+    @Override
+    public void deleteTasksByType(Type type) {
+        restructure(() -> super.deleteTasksByType(type));
+    }
+
+    @Override
+    public Task getTask(int taskId) {
+        return view(() -> super.getTask(taskId));
+    }
+
+    @Override
+    public Epic getEpic(int epicId) {
+        return view(() -> super.getEpic(epicId));
+    }
+
+    @Override
+    public Subtask getSubtask(int subtaskId) {
+        return view(() -> super.getSubtask(subtaskId));
+    }
+
+    @Override
+    public List<Task> getAllItems() {
+        return view(super::getAllItems);
+    }
+
+    @Override
+    public List<Task> getAllTasks() {
+        return view(super::getAllTasks);
+    }
+
+    @Override
+    public List<Epic> getAllEpics() {
+        return view(super::getAllEpics);
+    }
+
+    @Override
+    public List<Subtask> getAllSubtasks() {
+        return view(super::getAllSubtasks);
+    }
+
+    @Override
+    public List<Task> getTasksByType(Type type) {
+        return view(() -> super.getTasksByType(type));
+    }
+
+    @Override
+    public List<Task> find(Status status, Type type) {
+        return view(() -> super.find(status, type));
+    }
+
+    @Override
+    public List<Subtask> findEpicSubtasks(int epicId, Status status) {
+        return view(() -> super.findEpicSubtasks(epicId, status));
+    }
+
+    @Override
+    public int count(Status status, Type type) {
+        return view(() -> super.count(status, type));
+    }
+
+    @Override
+    public List<Task> search(String query, int limit) {
+        return view(() -> super.search(query, limit));
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks() {
+        return view(super::getPrioritizedTasks);
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks(int offset, int limit) {
+        return view(() -> super.getPrioritizedTasks(offset, limit));
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasksAfter(int cursorId, int limit) {
+        return view(() -> super.getPrioritizedTasksAfter(cursorId, limit));
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasksBetween(LocalDateTime from, LocalDateTime to, int limit) {
+        return view(() -> super.getPrioritizedTasksBetween(from, to, limit));
+    }
+
+    @Override
+    public List<Subtask> getEpicsSubtasksById(int epicId) {
+        return read(epicId, () -> super.getEpicsSubtasksById(epicId));
+    }
+
+    @Override
+    public List<LocalDateTime> findFreeSlots(LocalDateTime earliestStart, long duration, int count) {
+        structureLock.readLock().lock();
+        timeLock.lock();
+        try {
+            return super.findFreeSlots(earliestStart, duration, count);
+        } finally {
+            timeLock.unlock();
+            structureLock.readLock().unlock();
+        }
+    }
+
+    private boolean isTimed(Task task) {
+        return task != null && task.getStartTime() != null;
+    }
+
+    private Lock stripeLock(int key) {
+        return stripeLocks[Math.floorMod(key, LOCK_STRIPES)];
+    }
+
+    private void mutate(int stripeKey, BooleanSupplier timed, Runnable operation) {
+        structureLock.readLock().lock();
+        Lock stripeLock = stripeKey == 0 ? null : stripeLock(stripeKey);
+        try {
+            if (stripeLock != null) {
+                stripeLock.lock();
+            }
+            try {
+                if (timed.getAsBoolean()) {
+                    timeLock.lock();
+                    try {
+                        operation.run();
+                    } finally {
+                        timeLock.unlock();
+                    }
+                } else {
+                    operation.run();
+                }
+            } finally {
+                if (stripeLock != null) {
+                    stripeLock.unlock();
+                }
+            }
+        } finally {
+            structureLock.readLock().unlock();
+        }
+    }
+
+    private <T> T read(int stripeKey, Supplier<T> operation) {
+        structureLock.readLock().lock();
+        Lock stripeLock = stripeLock(stripeKey);
+        try {
+            stripeLock.lock();
+            try {
+                return operation.get();
+            } finally {
+                stripeLock.unlock();
+            }
+        } finally {
+            structureLock.readLock().unlock();
+        }
+    }
+
+    private <T> T view(Supplier<T> operation) {
+        structureLock.readLock().lock();
+        try {
+            return operation.get();
+        } finally {
+            structureLock.readLock().unlock();
+        }
+    }
+
+    private void restructure(Runnable operation) {
+        structureLock.writeLock().lock();
+        try {
+            operation.run();
+        } finally {
+            structureLock.writeLock().unlock();
+        }
+    }
+
+    private <T> T restructure(Supplier<T> operation) {
+        structureLock.writeLock().lock();
+        try {
+            return operation.get();
+        } finally {
+            structureLock.writeLock().unlock();
+        }
+    }
+
+}
@@ -0,0 +1,7 @@
+package taskmanager.service;
+
+public enum Durability {
+    ASYNC,
+    FLUSH,
+    FSYNC
+}
@@ -2,29 +2,67 @@ package taskmanager.service;
 
 import taskmanager.exceptions.ManagerSaveException;
 import taskmanager.model.*;
+import taskmanager.util.JournalReader;
+import taskmanager.util.MappedLineReader;
 
 import java.io.*;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
-public class FileBackedTasksManager extends InMemoryTaskManager {
+public class FileBackedTasksManager extends InMemoryTaskManager implements AutoCloseable {
+
+    public static final int HISTORY_COMPACTION_THRESHOLD = 10_000;
+    public static final String BINARY_EXTENSION = ".bin";
+    private static final String HISTORY_EXTENSION = ".history";
 
     private File backupFile;
+    private File historyFile;
+    private GroupCommitWriter backupWriter;
+    private GroupCommitWriter historyWriter;
+    private int historyRecords;
+    private boolean binary;
+    private Durability durability = Durability.FLUSH;
+    private long flushWindowMillis;
+    private int maxBatchSize = GroupCommitWriter.DEFAULT_MAX_BATCH_SIZE;
     private static final String CSV_HEADER = "id,type,name,status,description,startTime,duration,endTime,epic,subtasks\n";
 
     public FileBackedTasksManager() {
         super(Managers.getDefaultHistoryManager());
     }
     public FileBackedTasksManager(HistoryManager historyManager, String backupFileName) {
+        this(historyManager, backupFileName, Durability.FLUSH, 0, GroupCommitWriter.DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    public FileBackedTasksManager(HistoryManager historyManager, String backupFileName, Durability durability,
+                                  long flushWindowMillis, int maxBatchSize) {
         super(historyManager);
+        this.durability = durability;
+        this.flushWindowMillis = flushWindowMillis;
+        this.maxBatchSize = maxBatchSize;
+        binary = backupFileName.endsWith(BINARY_EXTENSION);
         File backupFile = new File("BackupDirectory", backupFileName);
         if (backupFile.exists()) {
             this.backupFile = backupFile;
-            backup(load(backupFile));
+            backupWriter = createWriter(backupFile);
+            if (binary) {
+                backup(loadBinary(backupFile));
+            } else {
+                load(backupFile);
+            }
         } else {
             this.backupFile = createNewBackupFile(backupFile);
+            backupWriter = createWriter(this.backupFile);
+        }
+        historyFile = new File(this.backupFile.getPath() + HISTORY_EXTENSION);
+        replayHistory();
+        if (historyRecords > 0) {
+            historyWriter = createWriter(historyFile);
         }
     }
 
@@ -32,6 +70,33 @@ public class FileBackedTasksManager extends InMemoryTaskManager {
         return new FileBackedTasksManager(Managers.getDefaultHistoryManager(), backupFileName);
     }
 
+    public static void convertBackup(String sourceFileName, String targetFileName) throws ManagerSaveException {
+        try (FileBackedTasksManager source = loadBackup(sourceFileName)) {
+            File targetFile = new File("BackupDirectory", targetFileName);
+            if (targetFileName.endsWith(BINARY_EXTENSION)) {
+                Files.write(targetFile.toPath(), source.createBinarySnapshot().encode());
+            } else {
+                Files.writeString(targetFile.toPath(), source.createCSV(), StandardCharsets.UTF_8);
+            }
+        } catch (IOException e) {
+            throw new ManagerSaveException("Unable to convert backup!", e);
+        }
+    }
+
+    public static List<String> convertAllBackups() throws ManagerSaveException {
+        List<String> convertedFileNames = new ArrayList<>();
+        File[] csvFiles = new File("BackupDirectory").listFiles((directory, name) -> name.endsWith(".csv"));
+        if (csvFiles == null) {
+            return convertedFileNames;
+        }
+        for (File csvFile : csvFiles) {
+            String binaryFileName = csvFile.getName().replaceFirst("\\.csv$", BINARY_EXTENSION);
+            convertBackup(csvFile.getName(), binaryFileName);
+            convertedFileNames.add(binaryFileName);
+        }
+        return convertedFileNames;
+    }
+
     @Override
     public int getIdField() {
         return super.getIdField();
@@ -40,21 +105,21 @@ public class FileBackedTasksManager extends InMemoryTaskManager {
     @Override
     public Task getTask(int taskId) {
         Task task = super.getTask(taskId);
-        save();
+        saveView(task);
         return task;
     }
 
     @Override
     public Epic getEpic(int epicId) {
         Epic epic = super.getEpic(epicId);
-        save();
+        saveView(epic);
         return epic;
     }
 
     @Override
     public Subtask getSubtask(int subtaskId) {
         Subtask subtask = super.getSubtask(subtaskId);
-        save();
+        saveView(subtask);
         return subtask;
     }
 
@@ -94,6 +159,44 @@ public class FileBackedTasksManager extends InMemoryTaskManager {
         save();
     }
 
+    @Override
+    public void addAll(List<? extends Task> items) {
+        super.addAll(items);
+        save();
+    }
+
+    @Override
+    public void updateAll(List<? extends Task> items) {
+        super.updateAll(items);
+        save();
+    }
+
+    @Override
+    public void deleteAll(List<Integer> ids) {
+        super.deleteAll(ids);
+        save();
+    }
+
+    @Override
+    public void inTransaction(Consumer<TaskManager> transaction) {
+        super.inTransaction(transaction);
+        save();
+    }
+
+    @Override
+    public List<Task> scheduleTasks(LocalDateTime earliestStart) {
+        List<Task> scheduledItems = super.scheduleTasks(earliestStart);
+        save();
+        return scheduledItems;
+    }
+
+    @Override
+    public List<Task> scheduleTasks(List<Integer> ids, LocalDateTime earliestStart) {
+        List<Task> scheduledItems = super.scheduleTasks(ids, earliestStart);
+        save();
+        return scheduledItems;
+    }
+
     @Override
     public void deleteAllItems() {
         super.deleteAllItems();
@@ -126,108 +229,184 @@ public class FileBackedTasksManager extends InMemoryTaskManager {
         }
     }
 
-    private List<String> load(File file) throws ManagerSaveException {
-        try (BufferedReader reader = new BufferedReader(new FileReader(file, StandardCharsets.UTF_8))) {
-            List<String> lines = new ArrayList<>();
-            while (reader.ready()) {
-                lines.add(reader.readLine());
+    private void load(File file) throws ManagerSaveException {
+        try {
+            new MappedLineReader().forEachLine(file.toPath(), new CsvLoader());
+        } catch (IOException e) {
+            throw new ManagerSaveException("Unable to load from file!", e);
+        }
+    }
+
+    private BinarySnapshot loadBinary(File file) throws ManagerSaveException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size == 0) {
+                return null;
+            }
+            if (size > Integer.MAX_VALUE) {
+                throw new ManagerSaveException("Binary snapshot is too large to be mapped!", null);
             }
-            return lines;
+            return BinarySnapshot.decode(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
         } catch (IOException e) {
-            throw new ManagerSaveException("Unable to load from file!", e.getCause());
+            throw new ManagerSaveException("Unable to load from file!", e);
         }
     }
 
-    protected void backup(List<String> lines) {
-        if (lines.isEmpty()) {
+    protected void backup(BinarySnapshot snapshot) {
+        if (snapshot == null) {
             return;
         }
-        for (int i = 1; i < lines.size() - 1; i++) {
-            String[] line = lines.get(i).split(",");
-            if (line.length > 1) {
-                switch (Type.valueOf(line[1])) {
-                    case TASK:
-                        Task task = new Task();
-                        task.setId(Integer.parseInt(line[0]));
-                        task.setTitle(line[2]);
-                        if (!line[3].equals("null")) {
-                            task.setStatus(Status.valueOf(line[3]));
-                        }
-                        task.setDescription(line[4]);
-                        if (!line[5].equals("null")) {
-                            task.setStartTime(LocalDateTime.parse(line[5]));
-                        }
-                        task.setDuration(Long.parseLong(line[6]));
-                        taskMap.put(task.getId(), task);
-                        prioritySet.add(task);
-                        break;
-                    case EPIC:
-                        Epic epic = new Epic();
-                        epic.setId(Integer.parseInt(line[0]));
-                        epic.setTitle(line[2]);
-                        if (!line[3].equals("null")) {
-                            epic.setStatus(Status.valueOf(line[3]));
-                        }
-                        epic.setDescription(line[4]);
-                        if (!line[5].equals("null")) {
-                            epic.setStartTime(LocalDateTime.parse(line[5]));
-                        }
-                        epic.setDuration(Long.parseLong(line[6]));
-                        if (!line[7].equals("null")) {
-                            epic.setEndTime(LocalDateTime.parse(line[7]));
-                        }
-                        List<Integer> subtaskList = new ArrayList<>();
-                        for (int j = 9; j < line.length; j++) {
-                            if (!line[j].isEmpty()) {
-                                subtaskList.add(Integer.parseInt(line[j]));
-                            }
-                        }
-                        epic.setSubTasksIdList(subtaskList);
-                        epicMap.put(epic.getId(), epic);
-                        break;
-                    case SUBTASK:
-                        Subtask subtask = new Subtask();
-                        subtask.setId(Integer.parseInt(line[0]));
-                        subtask.setTitle(line[2]);
-                        if (!line[3].equals("null")) {
-                            subtask.setStatus(Status.valueOf(line[3]));
-                        }
-                        subtask.setDescription(line[4]);
-                        if (!line[5].equals("null")) {
-                            subtask.setStartTime(LocalDateTime.parse(line[5]));
-                        }
-                        subtask.setDuration(Long.parseLong(line[6]));
-                        subtask.setEpicId(Integer.parseInt(line[8]));
-                        subtaskMap.put(subtask.getId(), subtask);
-                        prioritySet.add(subtask);
-                        break;
+        for (Task item : snapshot.getItems()) {
+            indexItem(item);
+        }
+        idGenerator.advanceTo(snapshot.getIdField());
+        List<Integer> historyIds = snapshot.getHistoryIds();
+        for (int k = historyIds.size() - 1; k >= 0; k--) {
+            historyManager.add(itemMap.get(historyIds.get(k)));
+        }
+    }
+
+    protected static Task parseItem(String[] line) {
+        Task item;
+        switch (Type.valueOf(line[1])) {
+            case EPIC:
+                Epic epic = new Epic();
+                if (!line[7].equals("null")) {
+                    epic.setEndTime(LocalDateTime.parse(line[7]));
                 }
-            }
+                List<Integer> subtaskIds = new ArrayList<>();
+                for (int k = 9; k < line.length; k++) {
+                    subtaskIds.add(Integer.parseInt(line[k]));
+                }
+                epic.setSubTasksIdList(subtaskIds);
+                item = epic;
+                break;
+            case SUBTASK:
+                Subtask subtask = new Subtask();
+                subtask.setEpicId(Integer.parseInt(line[8]));
+                item = subtask;
+                break;
+            default:
+                item = new Task();
         }
-        if (!lines.get(lines.size() - 1).isEmpty() || !lines.get(lines.size() - 1).isBlank()) {
-            String[] historyLine = lines.get(lines.size() - 1).split(",");
-            for (int k = historyLine.length - 1; k >= 0; k--) {
-                historyManager.add(getTaskById(Integer.parseInt(historyLine[k])));
+        item.setId(Integer.parseInt(line[0]));
+        item.setTitle(line[2]);
+        if (!line[3].equals("null")) {
+            item.setStatus(Status.valueOf(line[3]));
+        }
+        item.setDescription(line[4]);
+        if (!line[5].equals("null")) {
+            item.setStartTime(LocalDateTime.parse(line[5]));
+        }
+        item.setDuration(Long.parseLong(line[6]));
+        return item;
+    }
+
+    protected static void truncate(File file, long length) {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            channel.truncate(length);
+        } catch (IOException e) {
+            throw new ManagerSaveException("Unable to truncate file " + file + "!", e);
+        }
+    }
+
+    protected File getBackupFile() {
+        return backupFile;
+    }
+
+    protected GroupCommitWriter createWriter(File file) {
+        return new GroupCommitWriter(file, durability, flushWindowMillis, maxBatchSize);
+    }
+
+    public void flush() {
+        if (backupWriter != null) {
+            backupWriter.flush();
+        }
+        if (historyWriter != null) {
+            historyWriter.flush();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (backupWriter != null) {
+            backupWriter.close();
+        }
+        if (historyWriter != null) {
+            historyWriter.close();
+        }
+    }
+
+    protected void save() {
+        if (isInTransaction() || backupWriter == null) {
+            return;
+        }
+        if (binary) {
+            backupWriter.replace(createBinarySnapshot().encode());
+        } else {
+            backupWriter.replace(createCSV());
+        }
+        if (historyRecords > 0) {
+            historyWriter.replace("");
+            historyRecords = 0;
+        }
+    }
+
+    protected void saveView(Task item) {
+        if (isInTransaction() || backupWriter == null) {
+            return;
+        }
+        if (historyWriter == null) {
+            historyWriter = createWriter(historyFile);
+        }
+        if (historyRecords >= HISTORY_COMPACTION_THRESHOLD) {
+            StringBuilder records = new StringBuilder();
+            List<Task> historyList = getHistory();
+            for (int i = historyList.size() - 1; i >= 0; i--) {
+                records.append(historyList.get(i).getId()).append('\n');
             }
+            historyWriter.replace(records.toString());
+            historyRecords = historyList.size();
+        } else {
+            historyWriter.append(item.getId() + "\n");
+            historyRecords++;
         }
-        int maxId = 0;
-        List<Task> allTasks = getAllItems();
-        if (!allTasks.isEmpty()) {
-            for (Task task : allTasks) {
-                if (task.getId() > maxId) {
-                    maxId = task.getId();
+    }
+
+    private void replayHistory() {
+        if (!historyFile.exists()) {
+            return;
+        }
+        long validLength = 0;
+        try (JournalReader reader = new JournalReader(historyFile)) {
+            String record = reader.readRecord();
+            while (record != null) {
+                int id = Integer.parseInt(record.strip());
+                if (containsItem(id)) {
+                    historyManager.add(itemMap.get(id));
                 }
+                historyRecords++;
+                validLength = reader.position();
+                record = reader.readRecord();
             }
+        } catch (NumberFormatException e) {
+            // a record that ends with a newline but isn't an id: drop it and everything after it
+        } catch (IOException e) {
+            throw new ManagerSaveException("Unable to load history journal!", e.getCause());
+        }
+        if (validLength < historyFile.length()) {
+            // a torn tail would be glued to the next appended id
+            truncate(historyFile, validLength);
         }
-        id = maxId;
     }
 
-    protected void save() {
-        try (FileWriter writer = new FileWriter(backupFile, StandardCharsets.UTF_8)) {
-            writer.write(createCSV());
-        } catch (IOException e) {
-            throw new ManagerSaveException("Unable to save file!", e.getCause());
+    private BinarySnapshot createBinarySnapshot() {
+        List<Task> historyList = getHistory();
+        List<Integer> historyIds = new ArrayList<>(historyList.size());
+        for (Task task : historyList) {
+            historyIds.add(task.getId());
         }
+        return new BinarySnapshot(getAllItems(), getIdField(), historyIds);
     }
 
     private String createCSV() {
@@ -239,7 +418,7 @@ public class FileBackedTasksManager extends InMemoryTaskManager {
                 CSV.append(task.toString());
             }
         }
-        CSV.append("\n");
+        CSV.append(getIdField()).append("\n");
         List<Task> historyList = getHistory();
         if (!historyList.isEmpty()) {
             for (Task task : historyList) {
@@ -250,5 +429,37 @@ public class FileBackedTasksManager extends InMemoryTaskManager {
         return String.valueOf(CSV);
     }
 
-}
+    private class CsvLoader implements Consumer<String> {
+
+        private int lineNumber;
+        private boolean itemsLoaded;
+        private boolean historyLoaded;
 
+        @Override
+        public void accept(String line) {
+            if (lineNumber++ == 0 && line.equals(CSV_HEADER.strip())) {
+                return;
+            }
+            if (!itemsLoaded) {
+                String[] fields = line.split(",");
+                if (fields.length > 1) {
+                    indexItem(parseItem(fields));
+                    return;
+                }
+                itemsLoaded = true;
+                if (!line.isBlank()) {
+                    idGenerator.advanceTo(Integer.parseInt(line.strip()));
+                }
+            } else if (!historyLoaded) {
+                historyLoaded = true;
+                if (!line.isBlank()) {
+                    String[] historyLine = line.split(",");
+                    for (int k = historyLine.length - 1; k >= 0; k--) {
+                        historyManager.add(itemMap.get(Integer.parseInt(historyLine[k])));
+                    }
+                }
+            }
+        }
+    }
+
+}
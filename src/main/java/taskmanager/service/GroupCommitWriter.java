@@ -0,0 +1,216 @@
+package taskmanager.service;
+
+import taskmanager.exceptions.ManagerSaveException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+public class GroupCommitWriter implements AutoCloseable {
+
+    public static final int DEFAULT_MAX_BATCH_SIZE = 1000;
+
+    private final FileChannel channel;
+    private final Durability durability;
+    private final long flushWindowNanos;
+    private final int maxBatchSize;
+    private final Thread flusherThread;
+    private final ByteArrayOutputStream appended = new ByteArrayOutputStream();
+    private byte[] replacement;
+    private int pendingOperations;
+    private long submittedTicket;
+    private long writtenTicket;
+    private boolean flushRequested;
+    private boolean closed;
+    private IOException failure;
+
+    public GroupCommitWriter(File file, Durability durability, long flushWindowMillis, int maxBatchSize) {
+        if (flushWindowMillis < 0 || maxBatchSize < 1) {
+            throw new IllegalArgumentException("Flush window can't be negative and batch size must be positive!");
+        }
+        try {
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new ManagerSaveException("Unable to open file " + file + "!", e);
+        }
+        this.durability = durability;
+        this.flushWindowNanos = flushWindowMillis * 1_000_000;
+        this.maxBatchSize = maxBatchSize;
+        flusherThread = new Thread(this::flushBatches, "group-commit-" + file.getName());
+        flusherThread.setDaemon(true);
+        flusherThread.start();
+    }
+
+    public void append(String records) {
+        append(records.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public void append(byte[] records) {
+        long ticket;
+        synchronized (this) {
+            checkState();
+            appended.writeBytes(records);
+            ticket = submit();
+        }
+        awaitIfSynchronous(ticket);
+    }
+
+    public void replace(String content) {
+        replace(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public void replace(byte[] content) {
+        long ticket;
+        synchronized (this) {
+            checkState();
+            replacement = content;
+            appended.reset();
+            ticket = submit();
+        }
+        awaitIfSynchronous(ticket);
+    }
+
+    public void flush() {
+        long ticket;
+        synchronized (this) {
+            checkState();
+            ticket = submittedTicket;
+            flushRequested = true;
+            notifyAll();
+        }
+        awaitWritten(ticket);
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+        }
+        flush();
+        synchronized (this) {
+            closed = true;
+            notifyAll();
+        }
+        try {
+            flusherThread.join();
+            channel.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            throw new ManagerSaveException("Unable to close file!", e);
+        }
+    }
+
+    private long submit() {
+        pendingOperations++;
+        submittedTicket++;
+        notifyAll();
+        return submittedTicket;
+    }
+
+    private void checkState() {
+        if (closed) {
+            throw new IllegalStateException("Writer is already closed!");
+        }
+        if (failure != null) {
+            throw new ManagerSaveException("Unable to save file!", failure);
+        }
+    }
+
+    private void awaitIfSynchronous(long ticket) {
+        if (durability != Durability.ASYNC) {
+            awaitWritten(ticket);
+        }
+    }
+
+    private synchronized void awaitWritten(long ticket) {
+        boolean interrupted = false;
+        while (writtenTicket < ticket && failure == null) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) {
+            throw new ManagerSaveException("Unable to save file!", failure);
+        }
+    }
+
+    private void flushBatches() {
+        while (true) {
+            byte[] batchReplacement;
+            byte[] batchAppended;
+            long batchTicket;
+            synchronized (this) {
+                try {
+                    while (pendingOperations == 0 && !closed) {
+                        wait();
+                    }
+                    long deadline = System.nanoTime() + flushWindowNanos;
+                    long remaining = flushWindowNanos;
+                    while (remaining > 0 && pendingOperations < maxBatchSize && !flushRequested && !closed) {
+                        wait(remaining / 1_000_000, (int) (remaining % 1_000_000));
+                        remaining = deadline - System.nanoTime();
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (pendingOperations == 0) {
+                    return;
+                }
+                batchReplacement = replacement;
+                batchAppended = appended.toByteArray();
+                batchTicket = submittedTicket;
+                replacement = null;
+                appended.reset();
+                pendingOperations = 0;
+                flushRequested = false;
+            }
+            IOException batchFailure = null;
+            try {
+                write(batchReplacement, batchAppended);
+            } catch (IOException e) {
+                batchFailure = e;
+            }
+            synchronized (this) {
+                if (batchFailure != null) {
+                    failure = batchFailure;
+                }
+                writtenTicket = batchTicket;
+                notifyAll();
+            }
+        }
+    }
+
+    private void write(byte[] batchReplacement, byte[] batchAppended) throws IOException {
+        if (batchReplacement != null) {
+            channel.truncate(0);
+            channel.position(0);
+            writeFully(batchReplacement);
+        } else {
+            channel.position(channel.size());
+        }
+        writeFully(batchAppended);
+        if (durability == Durability.FSYNC) {
+            channel.force(false);
+        }
+    }
+
+    private void writeFully(byte[] bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+}
@@ -4,6 +4,7 @@ import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonParser;
+import taskmanager.exceptions.HttpException;
 import taskmanager.http.KVTaskClient;
 import taskmanager.model.Epic;
 import taskmanager.model.Subtask;
@@ -18,7 +19,10 @@ public class HttpTaskManager extends FileBackedTasksManager {
     private static final String EPIC_KEY = "epics/";
     private static final String SUBTASK_KEY = "subtasks/";
     private static final String HISTORY_KEY = "history/";
+    private static final String ID_KEY = "id/";
+    public static final int HISTORY_UPLOAD_INTERVAL = 32;
     private final KVTaskClient client;
+    private int pendingViews;
     private static final Gson GSON = Managers.getGson();
 
     public HttpTaskManager(URI url, boolean needToBackup) {
@@ -34,16 +38,48 @@ public class HttpTaskManager extends FileBackedTasksManager {
 
     @Override
     protected void save() {
+        if (isInTransaction()) {
+            return;
+        }
         String jsonTasks = GSON.toJson(taskMap.values());
         String jsonEpics = GSON.toJson(epicMap.values());
         String jsonSubtasks = GSON.toJson(subtaskMap.values());
-        String jsonHistory = GSON.toJson(getHistory().stream()
-                .map(Task::getId)
-                .collect(Collectors.toList()));
 
         client.put(TASK_KEY, jsonTasks);
         client.put(EPIC_KEY, jsonEpics);
         client.put(SUBTASK_KEY, jsonSubtasks);
+        saveHistory();
+        client.put(ID_KEY, String.valueOf(getIdField()));
+    }
+
+    @Override
+    protected void saveView(Task item) {
+        if (isInTransaction()) {
+            return;
+        }
+        pendingViews++;
+        if (pendingViews >= HISTORY_UPLOAD_INTERVAL) {
+            saveHistory();
+        }
+    }
+
+    @Override
+    public void flush() {
+        if (pendingViews > 0) {
+            saveHistory();
+        }
+    }
+
+    @Override
+    public void close() {
+        flush();
+    }
+
+    private void saveHistory() {
+        pendingViews = 0;
+        String jsonHistory = GSON.toJson(getHistory().stream()
+                .map(Task::getId)
+                .collect(Collectors.toList()));
         client.put(HISTORY_KEY, jsonHistory);
     }
 
@@ -53,8 +89,7 @@ public class HttpTaskManager extends FileBackedTasksManager {
             JsonArray jsonTasksArray = jsonTasks.getAsJsonArray();
             for (JsonElement jsonTask : jsonTasksArray) {
                 Task task = GSON.fromJson(jsonTask, Task.class);
-                taskMap.put(task.getId(), task);
-                prioritySet.add(task);
+                indexItem(task);
             }
         }
         JsonElement jsonEpics = JsonParser.parseString(client.load(EPIC_KEY));
@@ -62,7 +97,7 @@ public class HttpTaskManager extends FileBackedTasksManager {
             JsonArray jsonEpicsArray = jsonEpics.getAsJsonArray();
             for (JsonElement jsonEpic : jsonEpicsArray) {
                 Epic epic = GSON.fromJson(jsonEpic, Epic.class);
-                epicMap.put(epic.getId(), epic);
+                indexItem(epic);
             }
         }
         JsonElement jsonSubtasks = JsonParser.parseString(client.load(SUBTASK_KEY));
@@ -70,8 +105,7 @@ public class HttpTaskManager extends FileBackedTasksManager {
             JsonArray jsonSubtasksArray = jsonSubtasks.getAsJsonArray();
             for (JsonElement jsonSubtask : jsonSubtasksArray) {
                 Subtask subtask = GSON.fromJson(jsonSubtask, Subtask.class);
-                subtaskMap.put(subtask.getId(), subtask);
-                prioritySet.add(subtask);
+                indexItem(subtask);
             }
         }
         JsonElement jsonHistory = JsonParser.parseString(client.load(HISTORY_KEY));
@@ -79,9 +113,16 @@ public class HttpTaskManager extends FileBackedTasksManager {
             JsonArray jsonHistoryArray = jsonHistory.getAsJsonArray();
             for (JsonElement jsonHistoryId : jsonHistoryArray) {
                 int id = jsonHistoryId.getAsInt();
-                getTaskById(id);
+                if (containsItem(id)) {
+                    historyManager.add(itemMap.get(id));
+                }
             }
         }
+        try {
+            idGenerator.advanceTo(Integer.parseInt(client.load(ID_KEY)));
+        } catch (HttpException e) {
+            // snapshots saved before the id key existed: ids continue from the loaded items
+        }
     }
 
 }
@@ -0,0 +1,32 @@
+package taskmanager.service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class IdGenerator {
+
+    private final AtomicInteger lastId = new AtomicInteger();
+
+    public int nextId() {
+        return lastId.incrementAndGet();
+    }
+
+    public int reserve(int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Unable to reserve less than one id!");
+        }
+        return lastId.getAndAdd(count) + 1;
+    }
+
+    public void advanceTo(int id) {
+        lastId.accumulateAndGet(id, Math::max);
+    }
+
+    public int getLastId() {
+        return lastId.get();
+    }
+
+    public void reset() {
+        lastId.set(0);
+    }
+
+}
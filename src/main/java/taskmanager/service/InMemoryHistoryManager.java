@@ -1,40 +1,67 @@
 package taskmanager.service;
 
 import taskmanager.model.Task;
+import taskmanager.util.IntHashMap;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
 public class InMemoryHistoryManager implements HistoryManager {
 
+    public static final int DEFAULT_CAPACITY = 1000;
+
+    private final int capacity;
+    private final IntHashMap<Node> historyViewsMap = new IntHashMap<>();
     private Node first;
     private Node last;
+    private List<Task> historySnapshot;
+
+    public InMemoryHistoryManager() {
+        this(DEFAULT_CAPACITY);
+    }
 
-    public static Map<Integer, Node> historyViewsMap = new HashMap<>();
+    public InMemoryHistoryManager(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("History capacity must be positive!");
+        }
+        this.capacity = capacity;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
 
     @Override
     public List<Task> getHistory() {
+        if (historySnapshot != null) {
+            return historySnapshot;
+        }
         List<Task> list = new ArrayList<>(historyViewsMap.size());
         Node node = last;
         while (node != null) {
             list.add(node.value);
             node = node.previous;
         }
-        return list;
+        historySnapshot = Collections.unmodifiableList(list);
+        return historySnapshot;
     }
 
     @Override
     public void add(Task task) {
         remove(task.getId());
-        if (historyViewsMap.size() == 0) {
+        historySnapshot = null;
+        if (historyViewsMap.size() == capacity) {
+            remove(first.value.getId());
+        }
+        if (historyViewsMap.isEmpty()) {
             Node node = new Node(null, task, null);
             first = node;
             last = node;
         } else {
             Node newPreviousNode = last;
             last = new Node(newPreviousNode, task, null);
+            newPreviousNode.next = last;
         }
         historyViewsMap.put(task.getId(), last);
     }
@@ -45,6 +72,7 @@ public class InMemoryHistoryManager implements HistoryManager {
         if (deletingNode == null) {
             return;
         }
+        historySnapshot = null;
         Node previousNode = deletingNode.previous;
         Node nextNode = deletingNode.next;
         if (nextNode != null) {
@@ -62,6 +90,7 @@ public class InMemoryHistoryManager implements HistoryManager {
     public void clear() {
         first = null;
         last = null;
+        historySnapshot = null;
         historyViewsMap.clear();
     }
 
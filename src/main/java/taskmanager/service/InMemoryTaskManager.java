@@ -5,21 +5,50 @@ import com.google.gson.GsonBuilder;
 import taskmanager.exceptions.AddingAndUpdatingException;
 import taskmanager.exceptions.NoSuchTaskException;
 import taskmanager.model.*;
+import taskmanager.util.IntHashMap;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 public class InMemoryTaskManager implements TaskManager {
 
-    protected int id = 1;
+    protected final IdGenerator idGenerator = new IdGenerator();
 
-    protected final Set<Task> prioritySet = new TreeSet<>(Comparator.comparing
+    protected static final Comparator<Task> PRIORITY_ORDER = Comparator.comparing
                     ((Task::getStartTime), Comparator.nullsFirst(Comparator.reverseOrder()))
-            .thenComparing(Task::getId).reversed());
+            .thenComparingInt(Task::getId).reversed();
 
-    protected final Map<Integer, Task> taskMap = new HashMap<>();
-    protected final Map<Integer, Epic> epicMap = new HashMap<>();
-    protected final Map<Integer, Subtask> subtaskMap = new HashMap<>();
+    protected final NavigableSet<Task> prioritySet = createPrioritySet();
+
+    protected final Map<Integer, Task> taskMap = createMap();
+    protected final Map<Integer, Epic> epicMap = createMap();
+    protected final Map<Integer, Subtask> subtaskMap = createMap();
+    protected final Map<Integer, Task> itemMap = createMap();
+    protected final TimeIndex timeIndex = new TimeIndex();
+    protected final StatusIndex statusIndex = new StatusIndex();
+    protected final SearchIndex searchIndex = new SearchIndex();
+
+    private final AtomicLong version = new AtomicLong();
+    private final SnapshotView<Task> allItemsView = new SnapshotView<>(version, () -> {
+        List<Task> list = new ArrayList<>(itemMap.size());
+        list.addAll(taskMap.values());
+        list.addAll(epicMap.values());
+        list.addAll(subtaskMap.values());
+        return list;
+    });
+    private final SnapshotView<Task> allTasksView = new SnapshotView<>(version, () -> new ArrayList<>(taskMap.values()));
+    private final SnapshotView<Epic> allEpicsView = new SnapshotView<>(version, () -> new ArrayList<>(epicMap.values()));
+    private final SnapshotView<Subtask> allSubtasksView =
+            new SnapshotView<>(version, () -> new ArrayList<>(subtaskMap.values()));
+    private final SnapshotView<Task> prioritizedView = new SnapshotView<>(version, () -> new ArrayList<>(prioritySet));
+
+    private final List<TaskEventListener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicLong eventSequence = new AtomicLong();
+    private List<TaskEvent> transactionLog;
+    private boolean rollingBack;
 
     protected final HistoryManager historyManager;
 
@@ -29,7 +58,46 @@ public class InMemoryTaskManager implements TaskManager {
 
     @Override
     public int getIdField() {
-        return id;
+        return idGenerator.getLastId();
+    }
+
+    public void subscribe(TaskEventListener listener) {
+        listeners.add(listener);
+    }
+
+    public void unsubscribe(TaskEventListener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public void inTransaction(Consumer<TaskManager> transaction) {
+        if (transactionLog != null) {
+            transaction.accept(this);
+            return;
+        }
+        int lastId = idGenerator.getLastId();
+        long lastSequence = eventSequence.get();
+        List<Task> history = historyManager.getHistory();
+        transactionLog = new ArrayList<>();
+        List<TaskEvent> log;
+        try {
+            transaction.accept(this);
+        } catch (RuntimeException e) {
+            log = transactionLog;
+            transactionLog = null;
+            rollback(log, lastId, history);
+            eventSequence.set(lastSequence);
+            throw e;
+        }
+        log = transactionLog;
+        transactionLog = null;
+        for (TaskEvent event : log) {
+            notifyListeners(event);
+        }
+    }
+
+    protected boolean isInTransaction() {
+        return transactionLog != null;
     }
 
     @Override
@@ -42,6 +110,7 @@ public class InMemoryTaskManager implements TaskManager {
         idCheck(taskId);
         Task task = taskMap.get(taskId);
         historyManager.add(task);
+        publish(TaskEventType.VIEWED, null, task);
         return task;
     }
 
@@ -50,6 +119,7 @@ public class InMemoryTaskManager implements TaskManager {
         idCheck(epicId);
         Epic epic = epicMap.get(epicId);
         historyManager.add(epic);
+        publish(TaskEventType.VIEWED, null, epic);
         return epic;
     }
 
@@ -58,134 +128,185 @@ public class InMemoryTaskManager implements TaskManager {
         idCheck(subtaskId);
         Subtask subtask = subtaskMap.get(subtaskId);
         historyManager.add(subtask);
+        publish(TaskEventType.VIEWED, null, subtask);
         return subtask;
     }
 
     @Override
     public void addNewTask(Task task) {
-        intersectingCheck(task);
-        task.setId(createId());
-        prioritySet.add(task);
-        taskMap.put(task.getId(), task);
+        intersectingCheck(task, 0);
+        task.setId(idGenerator.nextId());
+        indexItem(task);
     }
 
     @Override
     public void addNewEpic(Epic epic) {
-        epic.setId(createId());
-        epic.setSubTasksIdList(new ArrayList<>());
-        epic.setStartTime(null);
-        epic.setDuration(0);
-        epic.setEndTime(null);
-        epicMap.put(epic.getId(), epic);
-        updateEpicFields(epic.getId());
+        epic.setId(idGenerator.nextId());
+        indexItem(epic);
     }
 
     @Override
     public void addNewSubtask(Subtask subtask) {
-        intersectingCheck(subtask);
+        intersectingCheck(subtask, 0);
         if (epicMap.isEmpty()) {
             throw new AddingAndUpdatingException("Unable to add subtask! There's no epics!");
         } else if (!epicMap.containsKey(subtask.getEpicId())) {
             throw new AddingAndUpdatingException("Unable to add subtask! There's no epics with such epicId");
         }
-        subtask.setId(createId());
-        prioritySet.add(subtask);
-        subtaskMap.put(subtask.getId(), subtask);
-        epicMap.get(subtask.getEpicId()).addSubtasksIdToEpicList(subtask.getId());
-        updateEpicFields(subtask.getEpicId());
+        subtask.setId(idGenerator.nextId());
+        indexItem(subtask);
     }
 
     @Override
     public void updateTask(Task newTask) {
         idCheck(newTask.getId());
         Task existingTask = taskMap.get(newTask.getId());
-        prioritySet.remove(existingTask);
+        if (existingTask == null) {
+            throw new NoSuchTaskException("There's no task with such id!");
+        }
         try {
-            intersectingCheck(existingTask);
+            intersectingCheck(newTask, existingTask.getId());
         } catch (AddingAndUpdatingException e) {
-            prioritySet.add(existingTask);
             throw new AddingAndUpdatingException("Updated task intersects in execution time with an existing task!");
         }
-        existingTask.setTitle(newTask.getTitle());
-        existingTask.setDescription(newTask.getDescription());
-        existingTask.setStatus(newTask.getStatus());
-        existingTask.setStartTime(newTask.getStartTime());
-        existingTask.setDuration(newTask.getDuration());
-        prioritySet.add(existingTask);
+        applyUpdate(existingTask, newTask);
     }
 
     @Override
     public void updateEpic(Epic newEpic) {
         idCheck(newEpic.getId());
         Epic existingEpic = epicMap.get(newEpic.getId());
-        existingEpic.setSubTasksIdList(new ArrayList<>());
-        existingEpic.setStartTime(null);
-        existingEpic.setDuration(0);
-        existingEpic.setEndTime(null);
-        existingEpic.setTitle(newEpic.getTitle());
-        existingEpic.setDescription(newEpic.getDescription());
-        updateEpicFields(existingEpic.getId());
+        if (existingEpic == null) {
+            throw new NoSuchTaskException("There's no epic with such id!");
+        }
+        applyEpicUpdate(existingEpic, newEpic);
     }
 
     @Override
     public void updateSubtask(Subtask newSubtask) {
         idCheck(newSubtask.getId());
         Subtask existingSubtask = subtaskMap.get(newSubtask.getId());
-        prioritySet.remove(existingSubtask);
-        updateEpicFields(existingSubtask.getEpicId());
+        if (existingSubtask == null) {
+            throw new NoSuchTaskException("There's no subtask with such id!");
+        }
         try {
-            intersectingCheck(newSubtask);
+            intersectingCheck(newSubtask, existingSubtask.getId());
         } catch (AddingAndUpdatingException e) {
-            prioritySet.add(existingSubtask);
             throw new AddingAndUpdatingException("Updated subtask intersects in execution time with an existing task!");
         }
-        existingSubtask.setTitle(newSubtask.getTitle());
-        existingSubtask.setDescription(newSubtask.getDescription());
-        existingSubtask.setStatus(newSubtask.getStatus());
-        existingSubtask.setStartTime(newSubtask.getStartTime());
-        existingSubtask.setDuration(newSubtask.getDuration());
-        prioritySet.add(existingSubtask);
-        epicMap.get(existingSubtask.getEpicId()).addSubtasksIdToEpicList(existingSubtask.getId());
-        updateEpicFields(existingSubtask.getEpicId());
+        applyUpdate(existingSubtask, newSubtask);
+    }
+
+    @Override
+    public void addAll(List<? extends Task> items) {
+        batchIntersectingCheck(items, "The adding task intersects in execution time with an existing task!");
+        if (items.isEmpty()) {
+            return;
+        }
+        int firstId = idGenerator.getLastId() + 1;
+        Set<Integer> batchEpicIds = new HashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            if (items.get(i).getType() == Type.EPIC) {
+                batchEpicIds.add(firstId + i);
+            }
+        }
+        for (Task item : items) {
+            if (item.getType() == Type.SUBTASK && !epicMap.containsKey(((Subtask) item).getEpicId())
+                    && !batchEpicIds.contains(((Subtask) item).getEpicId())) {
+                throw new AddingAndUpdatingException("Unable to add subtask! There's no epics with such epicId");
+            }
+        }
+        idGenerator.reserve(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            items.get(i).setId(firstId + i);
+        }
+        for (Task item : items) {
+            if (item.getType() == Type.EPIC) {
+                indexItem(item);
+            }
+        }
+        for (Task item : items) {
+            if (item.getType() != Type.EPIC) {
+                indexItem(item);
+            }
+        }
+    }
+
+    @Override
+    public void updateAll(List<? extends Task> items) {
+        List<Task> existingItems = new ArrayList<>(items.size());
+        for (Task item : items) {
+            idCheck(item.getId());
+            Task existingItem = itemMap.get(item.getId());
+            if (existingItem.getType() != item.getType()) {
+                throw new AddingAndUpdatingException("Updated item type doesn't match the existing one!");
+            }
+            existingItems.add(existingItem);
+        }
+        for (Task existingItem : existingItems) {
+            timeIndex.remove(existingItem.getId());
+        }
+        try {
+            batchIntersectingCheck(items, "Updated task intersects in execution time with an existing task!");
+        } catch (AddingAndUpdatingException e) {
+            for (Task existingItem : existingItems) {
+                if (existingItem.getType() != Type.EPIC) {
+                    timeIndex.add(existingItem);
+                }
+            }
+            throw e;
+        }
+        for (int i = 0; i < items.size(); i++) {
+            if (existingItems.get(i).getType() == Type.EPIC) {
+                applyEpicUpdate((Epic) existingItems.get(i), (Epic) items.get(i));
+            } else {
+                applyUpdate(existingItems.get(i), items.get(i));
+            }
+        }
+    }
+
+    @Override
+    public void deleteAll(List<Integer> ids) {
+        for (int id : ids) {
+            idCheck(id);
+        }
+        for (int id : ids) {
+            Task item = itemMap.get(id);
+            if (item != null) {
+                removeItem(item);
+            }
+        }
     }
 
     @Override
     public List<Task> getAllItems() {
-        ArrayList<Task> list = new ArrayList<>();
-        list.addAll(taskMap.values());
-        list.addAll(epicMap.values());
-        list.addAll(subtaskMap.values());
-        return list;
+        return allItemsView.get();
     }
 
     @Override
     public List<Task> getAllTasks() {
-        return new ArrayList<>(taskMap.values());
+        return allTasksView.get();
     }
 
     @Override
     public List<Epic> getAllEpics() {
-        return new ArrayList<>(epicMap.values());
+        return allEpicsView.get();
     }
 
     @Override
     public List<Subtask> getAllSubtasks() {
-        return new ArrayList<>(subtaskMap.values());
+        return allSubtasksView.get();
     }
 
     @Override
     public List<Task> getTasksByType(Type type) {
-        List<Task> list = new ArrayList<>();
         switch (type) {
             case TASK:
-                list.addAll(getAllTasks());
-                return list;
+                return getAllTasks();
             case EPIC:
-                list.addAll(getAllEpics());
-                return list;
+                return Collections.unmodifiableList(getAllEpics());
             case SUBTASK:
-                list.addAll(getAllSubtasks());
-                return list;
+                return Collections.unmodifiableList(getAllSubtasks());
             default:
                 return null;
         }
@@ -193,39 +314,52 @@ public class InMemoryTaskManager implements TaskManager {
 
     @Override
     public void deleteAllItems() {
+        if (isObserved()) {
+            for (Task item : getAllItems()) {
+                publish(TaskEventType.DELETED, snapshot(item), null);
+            }
+        }
         taskMap.clear();
         epicMap.clear();
         subtaskMap.clear();
+        itemMap.clear();
         historyManager.clear();
         prioritySet.clear();
-        id = 1;
+        timeIndex.clear();
+        statusIndex.clear();
+        searchIndex.clear();
+        idGenerator.reset();
+        markChanged();
+        if (isObserved()) {
+            record(new TaskEvent(eventSequence.incrementAndGet(), TaskEventType.CLEARED, 0, null, null));
+        }
     }
 
     @Override
     public void deleteTaskById(int id) {
         idCheck(id);
-        if (taskMap.containsKey(id)) {
-            historyManager.remove(id);
-            prioritySet.remove(taskMap.get(id));
-            taskMap.remove(id);
-        } else if (epicMap.containsKey(id)) {
-            List<Integer> subTasksIdList = epicMap.get(id).getSubTasksIdList();
-            if (!subTasksIdList.isEmpty()) {
-                for (int subtaskId : subTasksIdList) {
+        removeItem(itemMap.get(id));
+    }
+
+    protected void removeItem(Task item) {
+        int id = item.getId();
+        switch (item.getType()) {
+            case TASK:
+                historyManager.remove(id);
+                unindexItem(item);
+                break;
+            case EPIC:
+                historyManager.remove(id);
+                unindexItem(item);
+                for (int subtaskId : ((Epic) item).getSubTasksIdList()) {
                     historyManager.remove(subtaskId);
-                    prioritySet.remove(subtaskMap.get(subtaskId));
-                    subtaskMap.remove(subtaskId);
+                    unindexItem(subtaskMap.get(subtaskId));
                 }
-            }
-            historyManager.remove(id);
-            epicMap.remove(id);
-        } else if (subtaskMap.containsKey(id)) {
-            int epicId = subtaskMap.get(id).getEpicId();
-            historyManager.remove(id);
-            prioritySet.remove(subtaskMap.get(id));
-            epicMap.get(epicId).removeSubtaskIdFromEpicList(id);
-            subtaskMap.remove(id);
-            updateEpicFields(epicId);
+                break;
+            case SUBTASK:
+                historyManager.remove(id);
+                unindexItem(item);
+                break;
         }
     }
 
@@ -234,47 +368,76 @@ public class InMemoryTaskManager implements TaskManager {
         switch (type) {
             case TASK:
                 for (Task task : taskMap.values()) {
+                    publish(TaskEventType.DELETED, snapshot(task), null);
                     prioritySet.remove(task);
+                    timeIndex.remove(task.getId());
+                    searchIndex.remove(task.getId());
                     historyManager.remove(task.getId());
+                    itemMap.remove(task.getId());
                 }
                 taskMap.clear();
+                statusIndex.clear(Type.TASK);
                 break;
             case EPIC:
                 for (Epic epic : epicMap.values()) {
+                    publish(TaskEventType.DELETED, snapshot(epic), null);
                     historyManager.remove(epic.getId());
+                    searchIndex.remove(epic.getId());
+                    itemMap.remove(epic.getId());
                 }
                 epicMap.clear();
                 for (Subtask subtask : subtaskMap.values()) {
+                    publish(TaskEventType.DELETED, snapshot(subtask), null);
                     historyManager.remove(subtask.getId());
                     prioritySet.remove(subtask);
+                    timeIndex.remove(subtask.getId());
+                    searchIndex.remove(subtask.getId());
+                    itemMap.remove(subtask.getId());
                 }
                 subtaskMap.clear();
+                statusIndex.clear(Type.EPIC);
+                statusIndex.clear(Type.SUBTASK);
                 break;
             case SUBTASK:
                 for (Subtask subtask : subtaskMap.values()) {
+                    publish(TaskEventType.DELETED, snapshot(subtask), null);
                     historyManager.remove(subtask.getId());
                     prioritySet.remove(subtask);
+                    timeIndex.remove(subtask.getId());
+                    searchIndex.remove(subtask.getId());
+                    itemMap.remove(subtask.getId());
                 }
                 subtaskMap.clear();
+                statusIndex.clear(Type.SUBTASK);
                 for (Epic epic : epicMap.values()) {
-                    epic.getSubTasksIdList().clear();
-                    updateEpicFields(epic.getId());
+                    Task previousEpic = snapshot(epic);
+                    epic.clearSubtasks();
+                    statusIndex.reindex(epic);
+                    publish(TaskEventType.UPDATED, previousEpic, epic);
                 }
                 break;
         }
+        markChanged();
     }
 
     @Override
     public Task getTaskById(int id) {
         idCheck(id);
-        if (taskMap.containsKey(id)) {
-            return getTask(id);
-        } else if (epicMap.containsKey(id)) {
-            return getEpic(id);
-        } else if (subtaskMap.containsKey(id)) {
-            return getSubtask(id);
+        switch (itemMap.get(id).getType()) {
+            case TASK:
+                return getTask(id);
+            case EPIC:
+                return getEpic(id);
+            case SUBTASK:
+                return getSubtask(id);
+            default:
+                return null;
         }
-        return null;
+    }
+
+    @Override
+    public boolean containsItem(int id) {
+        return itemMap.containsKey(id);
     }
 
     @Override
@@ -295,123 +458,465 @@ public class InMemoryTaskManager implements TaskManager {
         return subtaskList;
     }
 
+    @Override
+    public List<Task> find(Status status, Type type) {
+        List<Task> list = new ArrayList<>();
+        for (int id : statusIndex.find(status, type)) {
+            Task item = itemMap.get(id);
+            if (item != null) {
+                list.add(item);
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public List<Subtask> findEpicSubtasks(int epicId, Status status) {
+        idCheck(epicId);
+        if (!epicMap.containsKey(epicId)) {
+            throw new NoSuchTaskException("Unable to get subtasks! There's no epics with such epicId");
+        }
+        List<Subtask> list = new ArrayList<>();
+        for (int id : statusIndex.findEpicSubtasks(epicId, status)) {
+            Subtask subtask = subtaskMap.get(id);
+            if (subtask != null) {
+                list.add(subtask);
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public int count(Status status, Type type) {
+        return statusIndex.count(status, type);
+    }
+
+    @Override
+    public List<Task> search(String query, int limit) {
+        List<Task> list = new ArrayList<>();
+        for (int id : searchIndex.search(query, limit)) {
+            Task item = itemMap.get(id);
+            if (item != null) {
+                list.add(item);
+            }
+        }
+        return list;
+    }
+
     @Override
     public List<Task> getPrioritizedTasks() {
-        return new ArrayList<>(prioritySet);
+        return prioritizedView.get();
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks(int offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset can't be negative!");
+        }
+        return firstTasks(prioritySet.stream().skip(offset).iterator(), limit);
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasksAfter(int cursorId, int limit) {
+        if (cursorId == 0) {
+            return firstTasks(prioritySet.iterator(), limit);
+        }
+        idCheck(cursorId);
+        return firstTasks(prioritySet.tailSet(itemMap.get(cursorId), false).iterator(), limit);
+    }
 
+    @Override
+    public List<Task> getPrioritizedTasksBetween(LocalDateTime from, LocalDateTime to, int limit) {
+        if (!from.isBefore(to)) {
+            return List.of();
+        }
+        return firstTasks(prioritySet.subSet(priorityBound(from), true, priorityBound(to), false).iterator(), limit);
+    }
+
+    @Override
+    public LocalDateTime findFreeSlot(LocalDateTime earliestStart, long duration) {
+        return findFreeSlots(earliestStart, duration, 1).get(0);
+    }
+
+    @Override
+    public List<LocalDateTime> findFreeSlots(LocalDateTime earliestStart, long duration, int count) {
+        if (duration < 0) {
+            throw new IllegalArgumentException("Slot duration can't be negative!");
+        }
+        return timeIndex.findFreeSlots(earliestStart, duration, count);
+    }
+
+    @Override
+    public List<Task> scheduleTasks(LocalDateTime earliestStart) {
+        List<Task> unscheduledItems = new ArrayList<>();
+        for (Task item : itemMap.values()) {
+            if (item.getType() != Type.EPIC && item.getStartTime() == null) {
+                unscheduledItems.add(item);
+            }
+        }
+        return schedule(unscheduledItems, earliestStart);
+    }
+
+    @Override
+    public List<Task> scheduleTasks(List<Integer> ids, LocalDateTime earliestStart) {
+        Set<Task> selectedItems = new LinkedHashSet<>();
+        for (int id : ids) {
+            idCheck(id);
+            Task item = itemMap.get(id);
+            if (item.getType() == Type.EPIC) {
+                for (int subtaskId : ((Epic) item).getSubTasksIdList()) {
+                    selectedItems.add(subtaskMap.get(subtaskId));
+                }
+            } else {
+                selectedItems.add(item);
+            }
+        }
+        List<Task> unscheduledItems = new ArrayList<>();
+        for (Task item : selectedItems) {
+            if (item.getStartTime() == null) {
+                unscheduledItems.add(item);
+            }
+        }
+        return schedule(unscheduledItems, earliestStart);
+    }
+
+    private List<Task> schedule(List<Task> unscheduledItems, LocalDateTime earliestStart) {
+        Map<Integer, List<Task>> epicGroups = new LinkedHashMap<>();
+        for (Task item : unscheduledItems) {
+            if (item.getDuration() < 0) {
+                continue;
+            }
+            int groupId = item.getType() == Type.SUBTASK ? ((Subtask) item).getEpicId() : item.getId();
+            epicGroups.computeIfAbsent(groupId, id -> new ArrayList<>()).add(item);
+        }
+        List<Task> scheduledItems = new ArrayList<>(unscheduledItems.size());
+        LocalDateTime slotSearchStart = earliestStart;
+        for (List<Task> group : epicGroups.values()) {
+            for (Task item : group) {
+                reschedule(item, timeIndex.findFreeSlots(slotSearchStart, item.getDuration(), 1).get(0));
+                slotSearchStart = item.getEndTime();
+                scheduledItems.add(item);
+            }
+        }
+        markChanged();
+        return scheduledItems;
+    }
+
+    private void reschedule(Task item, LocalDateTime startTime) {
+        Epic epic = item.getType() == Type.SUBTASK ? epicMap.get(((Subtask) item).getEpicId()) : null;
+        Task previousItem = snapshot(item);
+        Task previousEpic = snapshot(epic);
+        if (epic != null) {
+            epic.removeSubtaskFields((Subtask) item);
+        }
+        prioritySet.remove(item);
+        item.setStartTime(startTime);
+        prioritySet.add(item);
+        timeIndex.add(item);
+        publish(TaskEventType.UPDATED, previousItem, item);
+        if (epic != null) {
+            epic.addSubtaskFields((Subtask) item);
+            publish(TaskEventType.UPDATED, previousEpic, epic);
+        }
+    }
+
+    private List<Task> firstTasks(Iterator<Task> tasks, int limit) {
+        List<Task> list = new ArrayList<>();
+        while (list.size() < limit && tasks.hasNext()) {
+            list.add(tasks.next());
+        }
+        return list;
+    }
+
+    private Task priorityBound(LocalDateTime startTime) {
+        Task bound = new Task();
+        bound.setId(Integer.MAX_VALUE);
+        bound.setStartTime(startTime);
+        return bound;
     }
 
     public void idCheck(int id) {
         if (id == 0) {
             throw new NoSuchTaskException("Task has no id!");
-        } else if (getAllItems().stream().noneMatch(task -> task.getId() == id)) {
+        } else if (!itemMap.containsKey(id)) {
             throw new NoSuchTaskException("There's no task with such id!");
         }
     }
 
-    private int createId() {
-        int maxId = 0;
-        List<Task> allTasks = getAllItems();
-        if (!allTasks.isEmpty()) {
-            for (Task task : allTasks) {
-                if (task.getId() > maxId) {
-                    maxId = task.getId();
+    protected <V> Map<Integer, V> createMap() {
+        return new IntHashMap<>();
+    }
+
+    protected NavigableSet<Task> createPrioritySet() {
+        return new TreeSet<>(PRIORITY_ORDER);
+    }
+
+    protected void indexItem(Task item) {
+        Epic epic = null;
+        Task previousEpic = null;
+        switch (item.getType()) {
+            case TASK:
+                taskMap.put(item.getId(), item);
+                prioritySet.add(item);
+                if (item.getStartTime() != null) {
+                    timeIndex.add(item);
+                }
+                break;
+            case EPIC:
+                ((Epic) item).clearSubtasks();
+                epicMap.put(item.getId(), (Epic) item);
+                break;
+            case SUBTASK:
+                subtaskMap.put(item.getId(), (Subtask) item);
+                prioritySet.add(item);
+                if (item.getStartTime() != null) {
+                    timeIndex.add(item);
+                }
+                epic = epicMap.get(((Subtask) item).getEpicId());
+                if (epic != null) {
+                    previousEpic = snapshot(epic);
+                    epic.addSubtask((Subtask) item);
+                    statusIndex.reindex(epic);
+                }
+                break;
+        }
+        itemMap.put(item.getId(), item);
+        statusIndex.add(item);
+        searchIndex.add(item);
+        idGenerator.advanceTo(item.getId());
+        markChanged();
+        publish(TaskEventType.CREATED, null, item);
+        if (epic != null) {
+            publish(TaskEventType.UPDATED, previousEpic, epic);
+        }
+    }
+
+    protected void unindexItem(Task item) {
+        publish(TaskEventType.DELETED, snapshot(item), null);
+        switch (item.getType()) {
+            case TASK:
+                taskMap.remove(item.getId());
+                prioritySet.remove(item);
+                if (item.getStartTime() != null) {
+                    timeIndex.remove(item.getId());
+                }
+                break;
+            case EPIC:
+                epicMap.remove(item.getId());
+                statusIndex.clearEpicSubtasks(item.getId());
+                break;
+            case SUBTASK:
+                subtaskMap.remove(item.getId());
+                prioritySet.remove(item);
+                if (item.getStartTime() != null) {
+                    timeIndex.remove(item.getId());
                 }
+                Epic epic = epicMap.get(((Subtask) item).getEpicId());
+                if (epic != null) {
+                    Task previousEpic = snapshot(epic);
+                    epic.removeSubtask((Subtask) item);
+                    statusIndex.reindex(epic);
+                    publish(TaskEventType.UPDATED, previousEpic, epic);
+                }
+                break;
+        }
+        itemMap.remove(item.getId());
+        statusIndex.remove(item);
+        searchIndex.remove(item.getId());
+        markChanged();
+    }
+
+    protected void applyUpdate(Task existingItem, Task newItem) {
+        Epic epic = existingItem.getType() == Type.SUBTASK
+                ? epicMap.get(((Subtask) existingItem).getEpicId()) : null;
+        Task previousItem = snapshot(existingItem);
+        Task previousEpic = snapshot(epic);
+        boolean linked = epic != null && epic.getSubTasksIdList().contains(existingItem.getId());
+        boolean timed = existingItem.getStartTime() != null || newItem.getStartTime() != null;
+        if (linked) {
+            epic.removeSubtaskFields((Subtask) existingItem);
+        }
+        prioritySet.remove(existingItem);
+        existingItem.setTitle(newItem.getTitle());
+        existingItem.setDescription(newItem.getDescription());
+        existingItem.setStatus(newItem.getStatus());
+        existingItem.setStartTime(newItem.getStartTime());
+        existingItem.setDuration(newItem.getDuration());
+        prioritySet.add(existingItem);
+        if (timed) {
+            timeIndex.add(existingItem);
+        }
+        statusIndex.reindex(existingItem);
+        searchIndex.add(existingItem);
+        if (linked) {
+            epic.addSubtaskFields((Subtask) existingItem);
+            statusIndex.reindex(epic);
+        } else if (epic != null) {
+            epic.addSubtask((Subtask) existingItem);
+            statusIndex.reindex(epic);
+        }
+        markChanged();
+        publish(TaskEventType.UPDATED, previousItem, existingItem);
+        if (epic != null) {
+            publish(TaskEventType.UPDATED, previousEpic, epic);
+        }
+    }
+
+    private void applyEpicUpdate(Epic existingEpic, Epic newEpic) {
+        Task previousEpic = snapshot(existingEpic);
+        existingEpic.clearSubtasks();
+        existingEpic.setTitle(newEpic.getTitle());
+        existingEpic.setDescription(newEpic.getDescription());
+        statusIndex.clearEpicSubtasks(existingEpic.getId());
+        statusIndex.reindex(existingEpic);
+        searchIndex.add(existingEpic);
+        markChanged();
+        publish(TaskEventType.UPDATED, previousEpic, existingEpic);
+    }
+
+    private void rollback(List<TaskEvent> log, int lastId, List<Task> history) {
+        Map<Integer, Epic> originalEpics = new HashMap<>();
+        Set<Integer> createdIds = new HashSet<>();
+        for (TaskEvent event : log) {
+            if (event.getType() == TaskEventType.CREATED) {
+                createdIds.add(event.getItemId());
+            } else if (event.getPrevious() instanceof Epic && !createdIds.contains(event.getItemId())) {
+                originalEpics.putIfAbsent(event.getItemId(), (Epic) event.getPrevious());
             }
         }
-        id = maxId;
-        return ++id;
-    }
-
-    private void updateEpicFields(int epicId) {
-        updateEpicStatus(epicId);
-        updateEpicTemporal(epicId);
-    }
-
-    private void updateEpicStatus(int epicId) {
-        Epic existingEpic = epicMap.get(epicId);
-        List<Integer> subtasksIdList = existingEpic.getSubTasksIdList();
-        int newSubtasksCount = 0;
-        int doneSubtasksCount = 0;
-        if (!subtasksIdList.isEmpty() && !subtaskMap.isEmpty()) {
-            for (int subtaskId : subtasksIdList) {
-                if (subtaskMap.get(subtaskId).getStatus() == Status.NEW) {
-                    newSubtasksCount++;
-                } else if (subtaskMap.get(subtaskId).getStatus() == Status.DONE) {
-                    doneSubtasksCount++;
-                } else {
-                    existingEpic.setStatus(Status.IN_PROGRESS);
-                    return;
+        rollingBack = true;
+        try {
+            for (int i = log.size() - 1; i >= 0; i--) {
+                TaskEvent event = log.get(i);
+                Task item = itemMap.get(event.getItemId());
+                switch (event.getType()) {
+                    case CREATED:
+                        if (item != null) {
+                            unindexItem(item);
+                        }
+                        break;
+                    case UPDATED:
+                        if (item != null && item.getType() != Type.EPIC) {
+                            applyUpdate(item, event.getPrevious());
+                        }
+                        break;
+                    case DELETED:
+                        if (item == null) {
+                            indexItem(event.getPrevious().copy());
+                        }
+                        break;
+                    default:
+                        break;
                 }
             }
-            if (newSubtasksCount == subtasksIdList.size()) {
-                existingEpic.setStatus(Status.NEW);
-            } else if (doneSubtasksCount == subtasksIdList.size()) {
-                existingEpic.setStatus(Status.DONE);
-            } else {
-                existingEpic.setStatus(Status.IN_PROGRESS);
+            for (Epic originalEpic : originalEpics.values()) {
+                restoreEpic(originalEpic);
             }
-        } else {
-            existingEpic.setStatus(Status.NEW);
-            existingEpic.setStartTime(null);
-            existingEpic.setDuration(0);
-            existingEpic.setEndTime(null);
+            idGenerator.reset();
+            idGenerator.advanceTo(lastId);
+            historyManager.clear();
+            for (int i = history.size() - 1; i >= 0; i--) {
+                Task item = itemMap.get(history.get(i).getId());
+                if (item != null) {
+                    historyManager.add(item);
+                }
+            }
+            markChanged();
+        } finally {
+            rollingBack = false;
         }
     }
 
-    private void updateEpicTemporal(int epicId) {
-        Epic epic = epicMap.get(epicId);
+    protected void restoreEpic(Epic originalEpic) {
+        Epic epic = epicMap.get(originalEpic.getId());
         if (epic == null) {
             return;
         }
-        if (!epic.getSubTasksIdList().isEmpty()) {
-            List<Subtask> subtasksIdList = getEpicsSubtasksById(epicId);
-            long epicDuration = 0;
-            TreeSet<LocalDateTime> timeSet = new TreeSet<>((startTime1, startTime2) ->
-                    startTime1.isBefore(startTime2) ? -1 : startTime1.isAfter(startTime2) ? 1 : 0);
-            for (Subtask subtask : subtasksIdList) {
-                if (subtask.getStartTime() != null) {
-                    timeSet.add(subtask.getStartTime());
-                }
-                epicDuration += subtask.getDuration();
-                if (subtask.getEndTime() != null) {
-                    timeSet.add(subtask.getEndTime());
-                }
+        epic.clearSubtasks();
+        epic.setTitle(originalEpic.getTitle());
+        epic.setDescription(originalEpic.getDescription());
+        statusIndex.clearEpicSubtasks(epic.getId());
+        for (int subtaskId : originalEpic.getSubTasksIdList()) {
+            Subtask subtask = subtaskMap.get(subtaskId);
+            if (subtask != null) {
+                epic.addSubtask(subtask);
+                statusIndex.add(subtask);
             }
-            if (!(timeSet.isEmpty() && epicDuration == 0)) {
-                epic.setStartTime(timeSet.first());
-                epic.setDuration(epicDuration);
-                epic.setEndTime(timeSet.last());
-            }
-        } else {
-            epic.setStartTime(null);
-            epic.setDuration(0);
-            epic.setEndTime(null);
         }
+        statusIndex.reindex(epic);
+        searchIndex.add(epic);
+        markChanged();
+    }
+
+    private boolean isObserved() {
+        return !rollingBack && (transactionLog != null || !listeners.isEmpty());
+    }
+
+    protected Task snapshot(Task item) {
+        return item == null || !isObserved() ? null : item.copy();
     }
 
-    private void intersectingCheck(Task newTask) {
-        if (newTask.getStartTime() == null || prioritySet.isEmpty()) {
+    protected void publish(TaskEventType type, Task previous, Task current) {
+        if (!isObserved()) {
             return;
         }
-        if (newTask.getEndTime().isBefore(newTask.getStartTime())) {
-            throw new AddingAndUpdatingException(
-                    "The adding task end time is before start time or start time is after end time!");
+        int itemId = current != null ? current.getId() : previous.getId();
+        record(new TaskEvent(eventSequence.incrementAndGet(), type, itemId, previous, snapshot(current)));
+    }
+
+    private void record(TaskEvent event) {
+        if (transactionLog != null) {
+            transactionLog.add(event);
+        } else {
+            notifyListeners(event);
         }
-        for (Task task : prioritySet) {
-            if (task.getStartTime() == null) {
-                return;
-            }
-            if (task.getId() == newTask.getId()) {
+    }
+
+    private void notifyListeners(TaskEvent event) {
+        for (TaskEventListener listener : listeners) {
+            listener.onEvent(event);
+        }
+    }
+
+    protected void markChanged() {
+        version.incrementAndGet();
+    }
+
+    private void batchIntersectingCheck(List<? extends Task> items, String message) {
+        List<Task> timedItems = new ArrayList<>();
+        for (Task item : items) {
+            if (item.getType() == Type.EPIC || item.getStartTime() == null) {
                 continue;
             }
-            if (task.getStartTime().isBefore(newTask.getEndTime())
-                    && task.getEndTime().isAfter(newTask.getStartTime())) {
+            if (item.getEndTime().isBefore(item.getStartTime())) {
                 throw new AddingAndUpdatingException(
-                        "The adding task intersects in execution time with an existing task!");
+                        "The adding task end time is before start time or start time is after end time!");
+            }
+            timedItems.add(item);
+        }
+        timedItems.sort(Comparator.comparing(Task::getStartTime));
+        Task previousItem = null;
+        for (Task item : timedItems) {
+            if ((previousItem != null && previousItem.getEndTime().isAfter(item.getStartTime()))
+                    || timeIndex.overlaps(item.getStartTime(), item.getEndTime(), 0)) {
+                throw new AddingAndUpdatingException(message);
             }
+            previousItem = item;
         }
     }
 
-}
+    private void intersectingCheck(Task newTask, int existingId) {
+        if (newTask.getStartTime() == null) {
+            return;
+        }
+        if (newTask.getEndTime().isBefore(newTask.getStartTime())) {
+            throw new AddingAndUpdatingException(
+                    "The adding task end time is before start time or start time is after end time!");
+        }
+        if (timeIndex.overlaps(newTask.getStartTime(), newTask.getEndTime(), existingId)) {
+            throw new AddingAndUpdatingException(
+                    "The adding task intersects in execution time with an existing task!");
+        }
+    }
 
+}
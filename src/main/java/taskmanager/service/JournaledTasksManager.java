@@ -0,0 +1,186 @@
+package taskmanager.service;
+
+import taskmanager.exceptions.ManagerSaveException;
+import taskmanager.model.Epic;
+import taskmanager.model.Task;
+import taskmanager.model.Type;
+import taskmanager.util.JournalReader;
+
+import java.io.File;
+import java.io.IOException;
+
+public class JournaledTasksManager extends FileBackedTasksManager {
+
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 1000;
+    private static final String JOURNAL_EXTENSION = ".log";
+
+    private final int checkpointInterval;
+    private final StringBuilder pendingRecords = new StringBuilder();
+    private File journalFile;
+    private GroupCommitWriter journalWriter;
+    private int journaledRecords;
+    private boolean replaying;
+
+    public JournaledTasksManager(HistoryManager historyManager, String backupFileName, int checkpointInterval) {
+        this(historyManager, backupFileName, checkpointInterval, Durability.FLUSH, 0,
+                GroupCommitWriter.DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    public JournaledTasksManager(HistoryManager historyManager, String backupFileName, int checkpointInterval,
+                                 Durability durability, long flushWindowMillis, int maxBatchSize) {
+        super(historyManager, backupFileName, durability, flushWindowMillis, maxBatchSize);
+        if (checkpointInterval < 1) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive!");
+        }
+        this.checkpointInterval = checkpointInterval;
+        journalFile = new File(getBackupFile().getPath() + JOURNAL_EXTENSION);
+        replay();
+        journalWriter = createWriter(journalFile);
+        subscribe(this::journal);
+    }
+
+    public static JournaledTasksManager loadBackup(String backupFileName) throws ManagerSaveException {
+        return new JournaledTasksManager(Managers.getDefaultHistoryManager(), backupFileName,
+                DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    public void checkpoint() {
+        flushJournal();
+        super.save();
+        super.flush();
+        journalWriter.replace("");
+        journaledRecords = 0;
+    }
+
+    @Override
+    public void flush() {
+        flushJournal();
+        if (journalWriter != null) {
+            journalWriter.flush();
+        }
+        super.flush();
+    }
+
+    @Override
+    public void close() {
+        flushJournal();
+        if (journalWriter != null) {
+            journalWriter.close();
+        }
+        super.close();
+    }
+
+    @Override
+    protected void save() {
+        if (journalWriter == null || replaying || isInTransaction()) {
+            return;
+        }
+        flushJournal();
+        if (journaledRecords >= checkpointInterval) {
+            checkpoint();
+        }
+    }
+
+    @Override
+    protected void saveView(Task item) {
+        save();
+    }
+
+    private void journal(TaskEvent event) {
+        pendingRecords.append(event.getType());
+        switch (event.getType()) {
+            case CREATED:
+            case UPDATED:
+                pendingRecords.append(',').append(event.getCurrent().toString().strip());
+                break;
+            case DELETED:
+            case VIEWED:
+                pendingRecords.append(',').append(event.getItemId());
+                break;
+            default:
+                break;
+        }
+        pendingRecords.append('\n');
+    }
+
+    private void flushJournal() {
+        if (pendingRecords.length() == 0 || journalWriter == null) {
+            return;
+        }
+        journalWriter.append(pendingRecords.toString());
+        for (int i = 0; i < pendingRecords.length(); i++) {
+            if (pendingRecords.charAt(i) == '\n') {
+                journaledRecords++;
+            }
+        }
+        pendingRecords.setLength(0);
+    }
+
+    private void replay() {
+        if (!journalFile.exists()) {
+            return;
+        }
+        replaying = true;
+        long validLength = 0;
+        try (JournalReader reader = new JournalReader(journalFile)) {
+            String record = reader.readRecord();
+            long recordEnd = reader.position();
+            while (record != null) {
+                String nextRecord = reader.readRecord();
+                long nextRecordEnd = reader.position();
+                try {
+                    apply(record);
+                    validLength = recordEnd;
+                    journaledRecords++;
+                } catch (RuntimeException e) {
+                    if (nextRecord != null) {
+                        throw new ManagerSaveException("Journal record is corrupted: " + record, e);
+                    }
+                }
+                record = nextRecord;
+                recordEnd = nextRecordEnd;
+            }
+        } catch (IOException e) {
+            throw new ManagerSaveException("Unable to load journal!", e.getCause());
+        } finally {
+            replaying = false;
+        }
+        if (validLength < journalFile.length()) {
+            // a torn or unreadable tail would be glued to the next appended record
+            truncate(journalFile, validLength);
+        }
+    }
+
+    private void apply(String record) {
+        String[] fields = record.split(",", 2);
+        switch (TaskEventType.valueOf(fields[0])) {
+            case CREATED:
+            case UPDATED:
+                Task item = parseItem(fields[1].split(","));
+                if (item.getType() == Type.EPIC && containsItem(item.getId())) {
+                    restoreEpic((Epic) item);
+                } else if (containsItem(item.getId())) {
+                    applyUpdate(itemMap.get(item.getId()), item);
+                } else {
+                    indexItem(item);
+                }
+                break;
+            case DELETED:
+                int deletedId = Integer.parseInt(fields[1]);
+                if (containsItem(deletedId)) {
+                    removeItem(itemMap.get(deletedId));
+                }
+                break;
+            case VIEWED:
+                int viewedId = Integer.parseInt(fields[1]);
+                if (containsItem(viewedId)) {
+                    historyManager.add(itemMap.get(viewedId));
+                }
+                break;
+            case CLEARED:
+                deleteAllItems();
+                break;
+        }
+    }
+
+}
@@ -13,14 +13,31 @@ public class Managers {
         return new InMemoryHistoryManager();
     }
 
+    public static HistoryManager getDefaultHistoryManager(int capacity) {
+        return new InMemoryHistoryManager(capacity);
+    }
+
     public static TaskManager getDefaultTaskManager() {
         return new InMemoryTaskManager(getDefaultHistoryManager());
     }
 
+    public static TaskManager getConcurrentTaskManager() {
+        return new ConcurrentTaskManager(new ConcurrentHistoryManager());
+    }
+
     public static TaskManager getDefaultTaskManager(String backupFileName) {
         return new FileBackedTasksManager(getDefaultHistoryManager(), backupFileName);
     }
 
+    public static TaskManager getJournaledTaskManager(String backupFileName) {
+        return new JournaledTasksManager(getDefaultHistoryManager(), backupFileName,
+                JournaledTasksManager.DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    public static TaskManager getArchiveTaskManager(InMemoryTaskManager source) {
+        return new ArchiveTaskManager(source);
+    }
+
     public static TaskManager getDefaultTaskManager(URI url) {
         return new HttpTaskManager(url);
     }
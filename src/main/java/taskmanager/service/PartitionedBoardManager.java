@@ -0,0 +1,113 @@
+package taskmanager.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public class PartitionedBoardManager implements AutoCloseable {
+
+    private final Supplier<TaskManager> boardFactory;
+    private final Partition[] partitions;
+
+    public PartitionedBoardManager() {
+        this(Runtime.getRuntime().availableProcessors(), Managers::getDefaultTaskManager);
+    }
+
+    public PartitionedBoardManager(int partitionCount, Supplier<TaskManager> boardFactory) {
+        if (partitionCount < 1) {
+            throw new IllegalArgumentException("Partition count must be positive!");
+        }
+        this.boardFactory = boardFactory;
+        partitions = new Partition[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            partitions[i] = new Partition(i);
+        }
+    }
+
+    public int getPartitionCount() {
+        return partitions.length;
+    }
+
+    public <T> T execute(String boardId, Function<TaskManager, T> operation) {
+        Partition partition = partitionOf(boardId);
+        return partition.call(() -> operation.apply(
+                partition.boards.computeIfAbsent(boardId, id -> boardFactory.get())));
+    }
+
+    public <T> Optional<T> executeIfPresent(String boardId, Function<TaskManager, T> operation) {
+        Partition partition = partitionOf(boardId);
+        return partition.call(() -> {
+            TaskManager board = partition.boards.get(boardId);
+            return board == null ? Optional.empty() : Optional.ofNullable(operation.apply(board));
+        });
+    }
+
+    public void run(String boardId, Consumer<TaskManager> operation) {
+        execute(boardId, manager -> {
+            operation.accept(manager);
+            return null;
+        });
+    }
+
+    public boolean removeBoard(String boardId) {
+        Partition partition = partitionOf(boardId);
+        return partition.call(() -> partition.boards.remove(boardId) != null);
+    }
+
+    public List<String> getBoardIds() {
+        List<String> boardIds = new ArrayList<>();
+        for (Partition partition : partitions) {
+            boardIds.addAll(partition.call(() -> new ArrayList<>(partition.boards.keySet())));
+        }
+        return boardIds;
+    }
+
+    @Override
+    public void close() {
+        for (Partition partition : partitions) {
+            partition.executor.shutdown();
+        }
+    }
+
+    private Partition partitionOf(String boardId) {
+        return partitions[Math.floorMod(boardId.hashCode(), partitions.length)];
+    }
+
+    private static class Partition {
+
+        private final Map<String, TaskManager> boards = new HashMap<>();
+        private final ExecutorService executor;
+
+        private Partition(int index) {
+            executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "board-partition-" + index);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        private <T> T call(Supplier<T> operation) {
+            Future<T> future = executor.submit(operation::get);
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the board partition!", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package taskmanager.service;
+
+import taskmanager.model.Task;
+import taskmanager.util.IntHashMap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+public class SearchIndex {
+
+    private static final int TITLE_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final Comparator<Hit> WORST_HIT_FIRST = Comparator
+            .comparingDouble((Hit hit) -> hit.score)
+            .thenComparing(Comparator.comparingInt((Hit hit) -> hit.id).reversed());
+
+    private final Map<String, IntHashMap<Integer>> postings = new HashMap<>();
+    private final IntHashMap<String[]> termsById = new IntHashMap<>();
+
+    public synchronized void add(Task item) {
+        remove(item.getId());
+        Map<String, Integer> weights = new HashMap<>();
+        for (String token : tokenize(item.getTitle())) {
+            weights.merge(token, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String token : tokenize(item.getDescription())) {
+            weights.merge(token, DESCRIPTION_WEIGHT, Integer::sum);
+        }
+        if (weights.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<String, Integer> weight : weights.entrySet()) {
+            postings.computeIfAbsent(weight.getKey(), term -> new IntHashMap<>())
+                    .put(item.getId(), weight.getValue());
+        }
+        termsById.put(item.getId(), weights.keySet().toArray(new String[0]));
+    }
+
+    public synchronized void remove(int id) {
+        String[] terms = termsById.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            IntHashMap<Integer> termPostings = postings.get(term);
+            termPostings.remove(id);
+            if (termPostings.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        postings.clear();
+        termsById.clear();
+    }
+
+    public synchronized List<Integer> search(String query, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        List<IntHashMap<Integer>> termPostings = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            IntHashMap<Integer> postingList = postings.get(term);
+            if (postingList == null) {
+                return List.of();
+            }
+            termPostings.add(postingList);
+        }
+        termPostings.sort(Comparator.comparingInt(Map::size));
+        double[] inverseFrequencies = new double[termPostings.size()];
+        for (int i = 0; i < inverseFrequencies.length; i++) {
+            inverseFrequencies[i] = Math.log(1 + (double) termsById.size() / termPostings.get(i).size());
+        }
+        PriorityQueue<Hit> topHits = new PriorityQueue<>(WORST_HIT_FIRST);
+        for (Map.Entry<Integer, Integer> posting : termPostings.get(0).entrySet()) {
+            int id = posting.getKey();
+            double score = posting.getValue() * inverseFrequencies[0];
+            for (int i = 1; i < termPostings.size() && score > 0; i++) {
+                Integer weight = termPostings.get(i).get(id);
+                score = weight == null ? 0 : score + weight * inverseFrequencies[i];
+            }
+            if (score > 0) {
+                topHits.add(new Hit(id, score));
+                if (topHits.size() > limit) {
+                    topHits.poll();
+                }
+            }
+        }
+        List<Integer> ids = new ArrayList<>(topHits.size());
+        while (!topHits.isEmpty()) {
+            ids.add(topHits.poll().id);
+        }
+        Collections.reverse(ids);
+        return ids;
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int tokenStart = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean isTokenChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (isTokenChar && tokenStart < 0) {
+                tokenStart = i;
+            } else if (!isTokenChar && tokenStart >= 0) {
+                tokens.add(text.substring(tokenStart, i).toLowerCase(Locale.ROOT));
+                tokenStart = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static class Hit {
+
+        private final int id;
+        private final double score;
+
+        private Hit(int id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+    }
+
+}
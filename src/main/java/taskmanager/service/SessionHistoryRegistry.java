@@ -0,0 +1,97 @@
+package taskmanager.service;
+
+import taskmanager.model.Task;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class SessionHistoryRegistry {
+
+    public static final int DEFAULT_SESSION_CAPACITY = 50;
+    public static final int DEFAULT_VIEW_BUDGET = 500_000;
+    public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(30);
+
+    private final int sessionCapacity;
+    private final int maxSessions;
+    private final Duration idleTimeout;
+    private final Clock clock;
+    private final LinkedHashMap<String, Session> sessions = new LinkedHashMap<>(16, 0.75f, true);
+
+    public SessionHistoryRegistry() {
+        this(DEFAULT_SESSION_CAPACITY, DEFAULT_VIEW_BUDGET, DEFAULT_IDLE_TIMEOUT, Clock.systemUTC());
+    }
+
+    public SessionHistoryRegistry(int sessionCapacity, int viewBudget, Duration idleTimeout, Clock clock) {
+        if (sessionCapacity < 1 || viewBudget < sessionCapacity) {
+            throw new IllegalArgumentException("View budget must fit at least one session history!");
+        }
+        this.sessionCapacity = sessionCapacity;
+        this.maxSessions = viewBudget / sessionCapacity;
+        this.idleTimeout = idleTimeout;
+        this.clock = clock;
+    }
+
+    public synchronized void add(String sessionId, Task task) {
+        Instant now = clock.instant();
+        evictIdleSessions(now);
+        Session session = sessions.get(sessionId);
+        if (session == null) {
+            if (sessions.size() == maxSessions) {
+                Iterator<Session> eldest = sessions.values().iterator();
+                eldest.next();
+                eldest.remove();
+            }
+            session = new Session(new InMemoryHistoryManager(sessionCapacity));
+            sessions.put(sessionId, session);
+        }
+        session.lastAccess = now;
+        session.history.add(task);
+    }
+
+    public synchronized List<Task> getHistory(String sessionId) {
+        Instant now = clock.instant();
+        evictIdleSessions(now);
+        Session session = sessions.get(sessionId);
+        if (session == null) {
+            return List.of();
+        }
+        session.lastAccess = now;
+        return session.history.getHistory();
+    }
+
+    public synchronized void remove(String sessionId) {
+        sessions.remove(sessionId);
+    }
+
+    public synchronized void clear() {
+        sessions.clear();
+    }
+
+    public synchronized int size() {
+        evictIdleSessions(clock.instant());
+        return sessions.size();
+    }
+
+    private void evictIdleSessions(Instant now) {
+        Instant idleBound = now.minus(idleTimeout);
+        Iterator<Map.Entry<String, Session>> eldest = sessions.entrySet().iterator();
+        while (eldest.hasNext() && eldest.next().getValue().lastAccess.isBefore(idleBound)) {
+            eldest.remove();
+        }
+    }
+
+    private static class Session {
+
+        private final HistoryManager history;
+        private Instant lastAccess;
+
+        private Session(HistoryManager history) {
+            this.history = history;
+        }
+    }
+}
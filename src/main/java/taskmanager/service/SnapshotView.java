@@ -0,0 +1,40 @@
+package taskmanager.service;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+public class SnapshotView<T> {
+
+    private final AtomicLong version;
+    private final Supplier<List<T>> source;
+    private volatile Snapshot<T> snapshot;
+
+    public SnapshotView(AtomicLong version, Supplier<List<T>> source) {
+        this.version = version;
+        this.source = source;
+    }
+
+    public List<T> get() {
+        Snapshot<T> current = snapshot;
+        long currentVersion = version.get();
+        if (current == null || current.version != currentVersion) {
+            current = new Snapshot<>(currentVersion, Collections.unmodifiableList(source.get()));
+            snapshot = current;
+        }
+        return current.items;
+    }
+
+    private static class Snapshot<T> {
+
+        private final long version;
+        private final List<T> items;
+
+        private Snapshot(long version, List<T> items) {
+            this.version = version;
+            this.items = items;
+        }
+    }
+
+}
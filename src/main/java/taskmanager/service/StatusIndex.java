@@ -0,0 +1,108 @@
+package taskmanager.service;
+
+import taskmanager.model.Status;
+import taskmanager.model.Subtask;
+import taskmanager.model.Task;
+import taskmanager.model.Type;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class StatusIndex {
+
+    private static final int STATUS_SLOTS = Status.values().length + 1;
+
+    private final List<Set<Integer>> itemsByTypeAndStatus = new ArrayList<>();
+    private final Map<Integer, List<Set<Integer>>> subtasksByEpicAndStatus = new ConcurrentHashMap<>();
+
+    public StatusIndex() {
+        for (int i = 0; i < Type.values().length * STATUS_SLOTS; i++) {
+            itemsByTypeAndStatus.add(ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    public void add(Task item) {
+        itemsByTypeAndStatus.get(slot(item.getType(), item.getStatus())).add(item.getId());
+        if (item.getType() == Type.SUBTASK) {
+            subtasksByEpicAndStatus.computeIfAbsent(((Subtask) item).getEpicId(), epicId -> createStatusSets())
+                    .get(statusSlot(item.getStatus())).add(item.getId());
+        }
+    }
+
+    public void remove(Task item) {
+        int firstSlot = item.getType().ordinal() * STATUS_SLOTS;
+        for (int i = 0; i < STATUS_SLOTS; i++) {
+            itemsByTypeAndStatus.get(firstSlot + i).remove(item.getId());
+        }
+        if (item.getType() == Type.SUBTASK) {
+            List<Set<Integer>> epicSubtasks = subtasksByEpicAndStatus.get(((Subtask) item).getEpicId());
+            if (epicSubtasks != null) {
+                for (Set<Integer> subtasks : epicSubtasks) {
+                    subtasks.remove(item.getId());
+                }
+            }
+        }
+    }
+
+    public void reindex(Task item) {
+        remove(item);
+        add(item);
+    }
+
+    public void clearEpicSubtasks(int epicId) {
+        subtasksByEpicAndStatus.remove(epicId);
+    }
+
+    public void clear(Type type) {
+        int firstSlot = type.ordinal() * STATUS_SLOTS;
+        for (int i = 0; i < STATUS_SLOTS; i++) {
+            itemsByTypeAndStatus.get(firstSlot + i).clear();
+        }
+        if (type == Type.SUBTASK) {
+            subtasksByEpicAndStatus.clear();
+        }
+    }
+
+    public void clear() {
+        for (Type type : Type.values()) {
+            clear(type);
+        }
+    }
+
+    public Set<Integer> find(Status status, Type type) {
+        return Collections.unmodifiableSet(itemsByTypeAndStatus.get(slot(type, status)));
+    }
+
+    public Set<Integer> findEpicSubtasks(int epicId, Status status) {
+        List<Set<Integer>> epicSubtasks = subtasksByEpicAndStatus.get(epicId);
+        if (epicSubtasks == null) {
+            return Set.of();
+        }
+        return Collections.unmodifiableSet(epicSubtasks.get(statusSlot(status)));
+    }
+
+    public int count(Status status, Type type) {
+        return itemsByTypeAndStatus.get(slot(type, status)).size();
+    }
+
+    private List<Set<Integer>> createStatusSets() {
+        List<Set<Integer>> statusSets = new ArrayList<>(STATUS_SLOTS);
+        for (int i = 0; i < STATUS_SLOTS; i++) {
+            statusSets.add(ConcurrentHashMap.newKeySet());
+        }
+        return statusSets;
+    }
+
+    private int slot(Type type, Status status) {
+        return type.ordinal() * STATUS_SLOTS + statusSlot(status);
+    }
+
+    private int statusSlot(Status status) {
+        return status == null ? STATUS_SLOTS - 1 : status.ordinal();
+    }
+
+}
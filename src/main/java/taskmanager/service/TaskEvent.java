@@ -0,0 +1,46 @@
+package taskmanager.service;
+
+import taskmanager.model.Task;
+
+public class TaskEvent {
+
+    private final long sequence;
+    private final TaskEventType type;
+    private final int itemId;
+    private final Task previous;
+    private final Task current;
+
+    public TaskEvent(long sequence, TaskEventType type, int itemId, Task previous, Task current) {
+        this.sequence = sequence;
+        this.type = type;
+        this.itemId = itemId;
+        this.previous = previous;
+        this.current = current;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public TaskEventType getType() {
+        return type;
+    }
+
+    public int getItemId() {
+        return itemId;
+    }
+
+    public Task getPrevious() {
+        return previous;
+    }
+
+    public Task getCurrent() {
+        return current;
+    }
+
+    @Override
+    public String toString() {
+        return sequence + "," + type + "," + itemId;
+    }
+
+}
@@ -0,0 +1,7 @@
+package taskmanager.service;
+
+public interface TaskEventListener {
+
+    void onEvent(TaskEvent event);
+
+}
@@ -0,0 +1,7 @@
+package taskmanager.service;
+
+public enum TaskEventType {
+
+    CREATED, UPDATED, DELETED, VIEWED, CLEARED
+
+}
@@ -2,11 +2,14 @@ package taskmanager.service;
 
 import com.google.gson.Gson;
 import taskmanager.model.Epic;
+import taskmanager.model.Status;
 import taskmanager.model.Subtask;
 import taskmanager.model.Task;
 import taskmanager.model.Type;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface TaskManager {
 
@@ -30,6 +33,14 @@ public interface TaskManager {
 
     void addNewSubtask(Subtask subtask);
 
+    void addAll(List<? extends Task> items);
+
+    void updateAll(List<? extends Task> items);
+
+    void deleteAll(List<Integer> ids);
+
+    void inTransaction(Consumer<TaskManager> transaction);
+
     List<Task> getAllItems();
 
     List<Task> getAllTasks();
@@ -48,10 +59,34 @@ public interface TaskManager {
 
     Task getTaskById(int id);
 
+    boolean containsItem(int id);
+
     List<Subtask> getEpicsSubtasksById(int epicId);
 
+    List<Task> find(Status status, Type type);
+
+    List<Subtask> findEpicSubtasks(int epicId, Status status);
+
+    int count(Status status, Type type);
+
+    List<Task> search(String query, int limit);
+
     List<Task> getPrioritizedTasks();
 
+    LocalDateTime findFreeSlot(LocalDateTime earliestStart, long duration);
+
+    List<Task> scheduleTasks(LocalDateTime earliestStart);
+
+    List<Task> scheduleTasks(List<Integer> ids, LocalDateTime earliestStart);
+
+    List<LocalDateTime> findFreeSlots(LocalDateTime earliestStart, long duration, int count);
+
+    List<Task> getPrioritizedTasks(int offset, int limit);
+
+    List<Task> getPrioritizedTasksAfter(int cursorId, int limit);
+
+    List<Task> getPrioritizedTasksBetween(LocalDateTime from, LocalDateTime to, int limit);
+
     int getIdField();
 
 }
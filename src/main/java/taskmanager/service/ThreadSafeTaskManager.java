@@ -0,0 +1,8 @@
+package taskmanager.service;
+
+/**
+ * Marks managers that may be called from several threads without external locking.
+ */
+public interface ThreadSafeTaskManager extends TaskManager {
+
+}
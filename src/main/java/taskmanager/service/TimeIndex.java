@@ -0,0 +1,97 @@
+package taskmanager.service;
+
+import taskmanager.model.Task;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+public class TimeIndex {
+
+    private final NavigableSet<Interval> intervals = new TreeSet<>(Comparator
+            .comparing((Interval interval) -> interval.start)
+            .thenComparing(interval -> interval.end)
+            .thenComparingInt(interval -> interval.id));
+    private final Map<Integer, Interval> intervalsById = new HashMap<>();
+
+    public void add(Task task) {
+        remove(task.getId());
+        if (task.getStartTime() == null) {
+            return;
+        }
+        Interval interval = new Interval(task.getId(), task.getStartTime(), task.getEndTime());
+        intervals.add(interval);
+        intervalsById.put(interval.id, interval);
+    }
+
+    public void remove(int id) {
+        Interval interval = intervalsById.remove(id);
+        if (interval != null) {
+            intervals.remove(interval);
+        }
+    }
+
+    public void clear() {
+        intervals.clear();
+        intervalsById.clear();
+    }
+
+    // Stored intervals never overlap each other, so their ends grow together with their starts
+    // and the latest interval starting before the end is the only one that may reach the start.
+    public boolean overlaps(LocalDateTime start, LocalDateTime end, int excludedId) {
+        Iterator<Interval> startingBefore = intervals
+                .headSet(new Interval(Integer.MIN_VALUE, end, LocalDateTime.MIN), false)
+                .descendingIterator();
+        while (startingBefore.hasNext()) {
+            Interval interval = startingBefore.next();
+            if (interval.id != excludedId) {
+                return interval.end.isAfter(start);
+            }
+        }
+        return false;
+    }
+
+    public List<LocalDateTime> findFreeSlots(LocalDateTime earliestStart, long duration, int count) {
+        List<LocalDateTime> slots = new ArrayList<>();
+        if (count < 1) {
+            return slots;
+        }
+        Interval bound = new Interval(Integer.MAX_VALUE, earliestStart, LocalDateTime.MAX);
+        Interval covering = intervals.floor(bound);
+        LocalDateTime slotStart = covering != null && covering.end.isAfter(earliestStart)
+                ? covering.end : earliestStart;
+        for (Interval interval : intervals.tailSet(bound, false)) {
+            if (!interval.start.isBefore(slotStart.plusMinutes(duration))) {
+                slots.add(slotStart);
+                if (slots.size() == count) {
+                    return slots;
+                }
+            }
+            if (interval.end.isAfter(slotStart)) {
+                slotStart = interval.end;
+            }
+        }
+        slots.add(slotStart);
+        return slots;
+    }
+
+    private static class Interval {
+
+        private final int id;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+
+        private Interval(int id, LocalDateTime start, LocalDateTime end) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+}
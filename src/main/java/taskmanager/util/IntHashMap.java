@@ -0,0 +1,369 @@
+package taskmanager.util;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+public class IntHashMap<V> extends AbstractMap<Integer, V> {
+
+    private static final Object REMOVED = new Object();
+    private static final int MIN_CAPACITY = 8;
+
+    private int[] keys;
+    private Object[] values;
+    private int[] table;
+    private int entries;
+    private int size;
+    private int modCount;
+
+    public IntHashMap() {
+        this(MIN_CAPACITY);
+    }
+
+    public IntHashMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(int key) {
+        return find(key) >= 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Integer && containsKey((int) (Integer) key);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int index = find(key);
+        return index < 0 ? null : (V) values[index];
+    }
+
+    @Override
+    public V get(Object key) {
+        return key instanceof Integer ? get((int) (Integer) key) : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        int index = find(key);
+        if (index >= 0) {
+            V oldValue = (V) values[index];
+            values[index] = value;
+            return oldValue;
+        }
+        if (entries == keys.length) {
+            rebuild(size > entries / 2 ? keys.length * 2 : keys.length);
+        }
+        index = entries++;
+        keys[index] = key;
+        values[index] = value;
+        link(key, index);
+        size++;
+        modCount++;
+        return null;
+    }
+
+    @Override
+    public V put(Integer key, V value) {
+        return put((int) key, value);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int index = find(key);
+        if (index < 0) {
+            return null;
+        }
+        V oldValue = (V) values[index];
+        removeAt(index);
+        compactIfNeeded();
+        return oldValue;
+    }
+
+    @Override
+    public V remove(Object key) {
+        return key instanceof Integer ? remove((int) (Integer) key) : null;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(table, 0);
+        Arrays.fill(values, 0, entries, null);
+        entries = 0;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public Set<Entry<Integer, V>> entrySet() {
+        return new EntrySet();
+    }
+
+    @Override
+    public Set<Integer> keySet() {
+        return new KeySet();
+    }
+
+    @Override
+    public Collection<V> values() {
+        return new Values();
+    }
+
+    int keyAt(int position) {
+        if (entries == size) {
+            return keys[position];
+        }
+        int index = skipRemoved(0);
+        for (int i = 0; i < position; i++) {
+            index = skipRemoved(index + 1);
+        }
+        return keys[index];
+    }
+
+    private int find(int key) {
+        int mask = table.length - 1;
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            int index = table[slot] - 1;
+            if (index < 0) {
+                return -1;
+            }
+            if (keys[index] == key && values[index] != REMOVED) {
+                return index;
+            }
+        }
+    }
+
+    private void link(int key, int index) {
+        int mask = table.length - 1;
+        int slot = hash(key) & mask;
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = index + 1;
+    }
+
+    private void removeAt(int index) {
+        values[index] = REMOVED;
+        size--;
+        modCount++;
+    }
+
+    private void compactIfNeeded() {
+        int removed = entries - size;
+        if (removed >= MIN_CAPACITY && removed > size) {
+            rebuild(keys.length);
+        }
+    }
+
+    private void rebuild(int capacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        int oldEntries = entries;
+        allocate(capacity);
+        for (int i = 0; i < oldEntries; i++) {
+            if (oldValues[i] != REMOVED) {
+                keys[entries] = oldKeys[i];
+                values[entries] = oldValues[i];
+                link(oldKeys[i], entries++);
+            }
+        }
+        modCount++;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        table = new int[capacity * 2];
+        entries = 0;
+    }
+
+    private int skipRemoved(int index) {
+        while (index < entries && values[index] == REMOVED) {
+            index++;
+        }
+        return index;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize) {
+            capacity *= 2;
+        }
+        return capacity;
+    }
+
+    private static int hash(int key) {
+        int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private abstract class DenseIterator<T> implements Iterator<T> {
+
+        private int current = -1;
+        private int next = skipRemoved(0);
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return next < entries;
+        }
+
+        @Override
+        public T next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= entries) {
+                throw new NoSuchElementException();
+            }
+            current = next;
+            next = skipRemoved(current + 1);
+            return element(current);
+        }
+
+        @Override
+        public void remove() {
+            if (current < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeAt(current);
+            expectedModCount = modCount;
+            current = -1;
+        }
+
+        abstract T element(int index);
+    }
+
+    private class EntryIterator extends DenseIterator<Entry<Integer, V>> {
+
+        @Override
+        Entry<Integer, V> element(int index) {
+            return new DenseEntry(index);
+        }
+    }
+
+    private class KeyIterator extends DenseIterator<Integer> {
+
+        @Override
+        Integer element(int index) {
+            return keys[index];
+        }
+    }
+
+    private class ValueIterator extends DenseIterator<V> {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        V element(int index) {
+            return (V) values[index];
+        }
+    }
+
+    private class EntrySet extends AbstractSet<Entry<Integer, V>> {
+
+        @Override
+        public Iterator<Entry<Integer, V>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    private class KeySet extends AbstractSet<Integer> {
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return new KeyIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return containsKey(key);
+        }
+    }
+
+    private class Values extends AbstractCollection<V> {
+
+        @Override
+        public Iterator<V> iterator() {
+            return new ValueIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    private class DenseEntry implements Map.Entry<Integer, V> {
+
+        private final int index;
+
+        private DenseEntry(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public Integer getKey() {
+            return keys[index];
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V getValue() {
+            return (V) values[index];
+        }
+
+        @Override
+        public V setValue(V value) {
+            V oldValue = getValue();
+            values[index] = value;
+            return oldValue;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+            return getKey().equals(entry.getKey()) && Objects.equals(getValue(), entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return keys[index] ^ (values[index] == null ? 0 : values[index].hashCode());
+        }
+    }
+
+}
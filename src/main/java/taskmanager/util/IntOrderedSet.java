@@ -0,0 +1,128 @@
+package taskmanager.util;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+public class IntOrderedSet extends AbstractList<Integer> {
+
+    private final IntHashMap<Boolean> elements;
+
+    public IntOrderedSet() {
+        elements = new IntHashMap<>();
+    }
+
+    public IntOrderedSet(Collection<Integer> values) {
+        elements = new IntHashMap<>(values.size());
+        for (int value : values) {
+            add(value);
+        }
+    }
+
+    public boolean add(int value) {
+        if (elements.containsKey(value)) {
+            return false;
+        }
+        elements.put(value, Boolean.TRUE);
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean add(Integer value) {
+        return add((int) value);
+    }
+
+    public boolean contains(int value) {
+        return elements.containsKey(value);
+    }
+
+    @Override
+    public boolean contains(Object value) {
+        return elements.containsKey(value);
+    }
+
+    public boolean removeValue(int value) {
+        if (elements.remove(value) == null) {
+            return false;
+        }
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object value) {
+        return value instanceof Integer && removeValue((Integer) value);
+    }
+
+    @Override
+    public Integer remove(int index) {
+        int value = get(index);
+        removeValue(value);
+        return value;
+    }
+
+    @Override
+    public Integer get(int index) {
+        if (index < 0 || index >= elements.size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + elements.size());
+        }
+        return elements.keyAt(index);
+    }
+
+    @Override
+    public int indexOf(Object value) {
+        if (!contains(value)) {
+            return -1;
+        }
+        int index = 0;
+        for (int element : this) {
+            if (element == (Integer) value) {
+                return index;
+            }
+            index++;
+        }
+        return -1;
+    }
+
+    @Override
+    public Iterator<Integer> iterator() {
+        return elements.keySet().iterator();
+    }
+
+    @Override
+    public int size() {
+        return elements.size();
+    }
+
+    @Override
+    public void clear() {
+        elements.clear();
+        modCount++;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof List)) {
+            return false;
+        }
+        Iterator<Integer> values = iterator();
+        Iterator<?> otherValues = ((List<?>) o).iterator();
+        while (values.hasNext() && otherValues.hasNext()) {
+            if (!values.next().equals(otherValues.next())) {
+                return false;
+            }
+        }
+        return !values.hasNext() && !otherValues.hasNext();
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+
+}
@@ -0,0 +1,52 @@
+package taskmanager.util;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public class JournalReader implements Closeable {
+
+    private final InputStream input;
+    private byte[] record = new byte[256];
+    private long position;
+    private long readBytes;
+
+    public JournalReader(File file) throws IOException {
+        input = new BufferedInputStream(new FileInputStream(file));
+    }
+
+    public String readRecord() throws IOException {
+        int length = 0;
+        int b = input.read();
+        while (b != -1) {
+            readBytes++;
+            if (b == '\n') {
+                position = readBytes;
+                if (length > 0 && record[length - 1] == '\r') {
+                    length--;
+                }
+                return new String(record, 0, length, StandardCharsets.UTF_8);
+            }
+            if (length == record.length) {
+                record = Arrays.copyOf(record, record.length * 2);
+            }
+            record[length++] = (byte) b;
+            b = input.read();
+        }
+        return null;
+    }
+
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+}
@@ -0,0 +1,61 @@
+package taskmanager.util;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+public class MappedLineReader {
+
+    public static final long DEFAULT_CHUNK_SIZE = 64L << 20;
+
+    private final long chunkSize;
+    private byte[] line = new byte[256];
+    private int lineLength;
+
+    public MappedLineReader() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    public MappedLineReader(long chunkSize) {
+        if (chunkSize < 1 || chunkSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Chunk size must be positive and fit into a mapped buffer!");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    public void forEachLine(Path file, Consumer<String> action) throws IOException {
+        lineLength = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long offset = 0; offset < size; offset += chunkSize) {
+                MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, offset,
+                        Math.min(chunkSize, size - offset));
+                while (chunk.hasRemaining()) {
+                    byte b = chunk.get();
+                    if (b == '\n') {
+                        emit(action);
+                    } else {
+                        if (lineLength == line.length) {
+                            line = Arrays.copyOf(line, line.length * 2);
+                        }
+                        line[lineLength++] = b;
+                    }
+                }
+            }
+        }
+        if (lineLength > 0) {
+            emit(action);
+        }
+    }
+
+    private void emit(Consumer<String> action) {
+        int length = lineLength > 0 && line[lineLength - 1] == '\r' ? lineLength - 1 : lineLength;
+        lineLength = 0;
+        action.accept(new String(line, 0, length, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,298 @@
+package taskmanager.benchmark;
+
+import taskmanager.model.Epic;
+import taskmanager.model.Status;
+import taskmanager.model.Subtask;
+import taskmanager.model.Task;
+import taskmanager.service.ConcurrentHistoryManager;
+import taskmanager.service.FileBackedTasksManager;
+import taskmanager.service.HistoryManager;
+import taskmanager.service.Managers;
+import taskmanager.service.TaskManager;
+import taskmanager.util.IntHashMap;
+
+import java.io.File;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Замеры производительности, вынесенные из модульных тестов.
+ * Запускается вручную: без аргументов выполняет все замеры, иначе только перечисленные.
+ */
+public class Benchmarks {
+
+    private static final Map<String, Runnable> BENCHMARKS = new LinkedHashMap<>();
+
+    static {
+        BENCHMARKS.put("lookup", Benchmarks::lookupById);
+        BENCHMARKS.put("insert", Benchmarks::insertTasks);
+        BENCHMARKS.put("footprint", Benchmarks::intHashMapFootprint);
+        BENCHMARKS.put("schedule", Benchmarks::scheduleTasks);
+        BENCHMARKS.put("search", Benchmarks::searchTasks);
+        BENCHMARKS.put("history", Benchmarks::concurrentHistory);
+        BENCHMARKS.put("snapshot", Benchmarks::snapshotFormats);
+    }
+
+    public static void main(String[] args) {
+        Iterable<String> names = args.length == 0 ? BENCHMARKS.keySet() : List.of(args);
+        for (String name : names) {
+            Runnable benchmark = BENCHMARKS.get(name);
+            if (benchmark == null) {
+                System.out.println("Unknown benchmark " + name + ", expected one of " + BENCHMARKS.keySet());
+                continue;
+            }
+            benchmark.run();
+        }
+    }
+
+    /**
+     * Время поиска задачи по id на досках разного размера.
+     */
+    private static void lookupById() {
+        for (int boardSize : new int[]{1_000, 10_000, 100_000}) {
+            TaskManager manager = Managers.getDefaultTaskManager();
+            for (int i = 0; i < boardSize; i++) {
+                Task task = new Task();
+                task.setStatus(Status.NEW);
+                task.setTitle("Test_title");
+                manager.addNewTask(task);
+            }
+            long time = measure(() -> {
+                long found = 0;
+                for (int i = 0; i < 1_000_000; i++) {
+                    if (manager.containsItem(i % boardSize + 1)) {
+                        found++;
+                    }
+                }
+                return found;
+            });
+            report("lookup", boardSize + " items", time, 1_000_000);
+        }
+    }
+
+    /**
+     * Время добавления задач в зависимости от их количества.
+     */
+    private static void insertTasks() {
+        for (int count : new int[]{100_000, 1_000_000}) {
+            long time = measure(() -> {
+                TaskManager manager = Managers.getDefaultTaskManager();
+                for (int i = 0; i < count; i++) {
+                    Task task = new Task();
+                    task.setStatus(Status.NEW);
+                    manager.addNewTask(task);
+                }
+                return manager.getIdField();
+            });
+            report("insert", count + " tasks", time, count);
+        }
+    }
+
+    /**
+     * Память, занимаемая миллионом записей в IntHashMap и в HashMap.
+     */
+    private static void intHashMapFootprint() {
+        long hashMapBytes = measureFootprint(HashMap::new);
+        long intHashMapBytes = measureFootprint(IntHashMap::new);
+        System.out.println("footprint [1000000 entries]: HashMap " + hashMapBytes / 1024 + " KB, IntHashMap "
+                + intHashMapBytes / 1024 + " KB");
+    }
+
+    private static long measureFootprint(Supplier<Map<Integer, Object>> mapFactory) {
+        Object value = new Object();
+        long before = usedMemory();
+        Map<Integer, Object> map = mapFactory.get();
+        for (int i = 1; i <= 1_000_000; i++) {
+            map.put(i, value);
+        }
+        long after = usedMemory();
+        if (map.size() != 1_000_000) {
+            throw new IllegalStateException("Not all entries were stored!");
+        }
+        return after - before;
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Время планирования задач без времени начала.
+     */
+    private static void scheduleTasks() {
+        int count = 100_000;
+        long time = measureSelfTimed(() -> {
+            TaskManager manager = Managers.getDefaultTaskManager();
+            for (int i = 0; i < count; i++) {
+                Task task = new Task();
+                task.setDuration(i % 3 * 10);
+                manager.addNewTask(task);
+            }
+            long start = System.nanoTime();
+            manager.scheduleTasks(LocalDateTime.parse("2023-01-01T00:00"));
+            return System.nanoTime() - start;
+        });
+        report("schedule", count + " tasks", time, count);
+    }
+
+    /**
+     * Время поиска по миллиону задач.
+     */
+    private static void searchTasks() {
+        String[] words = {"отчёт", "встреча", "релиз", "ревью", "баг", "план", "звонок", "деплой"};
+        TaskManager manager = Managers.getDefaultTaskManager();
+        for (int i = 0; i < 1_000_000; i++) {
+            Task task = new Task();
+            task.setTitle(words[i % words.length] + " " + i);
+            task.setDescription(words[i / words.length % words.length] + " " + words[i % 7]);
+            manager.addNewTask(task);
+        }
+        long time = measure(() -> {
+            long hits = 0;
+            for (int i = 0; i < 1_000; i++) {
+                hits += manager.search("релиз " + (i * 997 + 2), 10).size();
+            }
+            return hits;
+        });
+        report("search", "1000000 tasks", time, 1_000);
+    }
+
+    /**
+     * Пропускная способность истории просмотров при 1, 4 и 16 потоках.
+     */
+    private static void concurrentHistory() {
+        int views = 400_000;
+        List<Task> tasks = new ArrayList<>();
+        for (int id = 1; id <= 5_000; id++) {
+            Task task = new Task();
+            task.setId(id);
+            tasks.add(task);
+        }
+        for (int threads : new int[]{1, 4, 16}) {
+            int viewsPerThread = views / threads;
+            long time = measureSelfTimed(() -> {
+                HistoryManager historyManager = new ConcurrentHistoryManager();
+                ExecutorService executor = Executors.newFixedThreadPool(threads);
+                List<Future<?>> futures = new ArrayList<>();
+                long start = System.nanoTime();
+                for (int thread = 0; thread < threads; thread++) {
+                    int offset = thread * 7;
+                    futures.add(executor.submit(() -> {
+                        for (int i = 0; i < viewsPerThread; i++) {
+                            historyManager.add(tasks.get((offset + i * 31) % tasks.size()));
+                        }
+                    }));
+                }
+                try {
+                    for (Future<?> future : futures) {
+                        future.get();
+                    }
+                } catch (InterruptedException | ExecutionException e) {
+                    throw new IllegalStateException("History benchmark failed!", e);
+                } finally {
+                    executor.shutdown();
+                }
+                return System.nanoTime() - start;
+            });
+            report("history", threads + " threads", time, (long) viewsPerThread * threads);
+        }
+    }
+
+    /**
+     * Размер и время загрузки CSV-бэкапа и бинарного снимка доски из двухсот тысяч элементов.
+     */
+    private static void snapshotFormats() {
+        int count = 200_000;
+        String csvFileName = "Benchmark_snapshot.csv";
+        String binaryFileName = "Benchmark_snapshot.bin";
+        deleteBackup(csvFileName);
+        deleteBackup(binaryFileName);
+        try {
+            try (FileBackedTasksManager manager = new FileBackedTasksManager(Managers.getDefaultHistoryManager(),
+                    csvFileName)) {
+                manager.inTransaction(transaction -> fillBoard(transaction, count));
+            }
+            FileBackedTasksManager.convertBackup(csvFileName, binaryFileName);
+            for (String fileName : List.of(csvFileName, binaryFileName)) {
+                long time = measure(() -> {
+                    try (FileBackedTasksManager manager = FileBackedTasksManager.loadBackup(fileName)) {
+                        return manager.getIdField();
+                    }
+                });
+                report("snapshot", fileName + ", " + new File("BackupDirectory", fileName).length() / 1024 + " KB",
+                        time, count);
+            }
+        } finally {
+            deleteBackup(csvFileName);
+            deleteBackup(binaryFileName);
+        }
+    }
+
+    private static void fillBoard(TaskManager manager, int count) {
+        LocalDateTime startTime = LocalDateTime.parse("2023-01-01T00:00");
+        int epicId = 0;
+        for (int i = 0; i < count; i++) {
+            Task item;
+            if (i % 10 == 0) {
+                item = new Epic();
+            } else if (i % 10 < 3) {
+                Subtask subtask = new Subtask();
+                subtask.setEpicId(epicId);
+                item = subtask;
+            } else {
+                item = new Task();
+            }
+            item.setTitle("Title_" + i);
+            item.setDescription("Description_" + i);
+            item.setStatus(Status.NEW);
+            if (item instanceof Epic) {
+                manager.addNewEpic((Epic) item);
+                epicId = item.getId();
+                continue;
+            }
+            item.setStartTime(startTime.plusMinutes(i * 15L));
+            item.setDuration(10);
+            if (item instanceof Subtask) {
+                manager.addNewSubtask((Subtask) item);
+            } else {
+                manager.addNewTask(item);
+            }
+        }
+    }
+
+    private static void deleteBackup(String fileName) {
+        new File("BackupDirectory", fileName).delete();
+        new File("BackupDirectory", fileName + ".history").delete();
+    }
+
+    private static long measure(LongSupplier operation) {
+        operation.getAsLong();
+        long start = System.nanoTime();
+        operation.getAsLong();
+        return System.nanoTime() - start;
+    }
+
+    private static long measureSelfTimed(LongSupplier timedOperation) {
+        timedOperation.getAsLong();
+        return timedOperation.getAsLong();
+    }
+
+    private static void report(String benchmark, String parameters, long time, long operations) {
+        System.out.println(benchmark + " [" + parameters + "]: " + time / 1_000_000 + " ms, "
+                + operations * 1_000_000L / Math.max(time, 1) + " ops/ms");
+    }
+}
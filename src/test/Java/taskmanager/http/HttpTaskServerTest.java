@@ -153,6 +153,173 @@ class HttpTaskServerTest {
         assertEquals(expectedIdList, historyIdList);
     }
 
+    @Test
+    public void getPriorityPageTest() throws IOException, InterruptedException {
+        createAndPostTestingTask();
+        createAndPostTestingEpic();
+        createAndPostTestingSubtask();
+
+        URI url = URI.create("http://localhost:8080/tasks/priority?after=1&limit=1");
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(url)
+                .GET()
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        List<Task> taskList = GSON.fromJson(response.body(),
+                new TypeToken<List<Task>>() {
+                }.getType());
+        assertEquals(1, taskList.size());
+        assertEquals(3, taskList.get(0).getId());
+    }
+
+    @Test
+    public void getPriorityPageWithWrongParametersTest() throws IOException, InterruptedException {
+        createAndPostTestingTask();
+
+        for (String query : List.of("offset=-1&limit=1", "after=100&limit=1")) {
+            URI url = URI.create("http://localhost:8080/tasks/priority?" + query);
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(url)
+                    .GET()
+                    .build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            assertEquals(400, response.statusCode(), "Wrong status code for " + query);
+        }
+    }
+
+    @Test
+    public void getSessionHistoryTest() throws IOException, InterruptedException {
+        createAndPostTestingTask();
+        createAndPostTestingEpic();
+        createAndPostTestingSubtask();
+
+        sendWithSession("http://localhost:8080/tasks/task/?id=1", "first_session");
+        sendWithSession("http://localhost:8080/tasks/epic/?id=2", "second_session");
+        sendWithSession("http://localhost:8080/tasks/subtask/?id=3", "first_session");
+
+        HttpResponse<String> firstResponse = sendWithSession("http://localhost:8080/tasks/history", "first_session");
+        HttpResponse<String> secondResponse = sendWithSession("http://localhost:8080/tasks/history", "second_session");
+
+        List<Task> firstHistory = GSON.fromJson(firstResponse.body(), new TypeToken<List<Task>>() {
+        }.getType());
+        List<Task> secondHistory = GSON.fromJson(secondResponse.body(), new TypeToken<List<Task>>() {
+        }.getType());
+        assertEquals(200, firstResponse.statusCode());
+        assertEquals(List.of(3, 1), List.of(firstHistory.get(0).getId(), firstHistory.get(1).getId()));
+        assertEquals(1, secondHistory.size());
+        assertEquals(2, secondHistory.get(0).getId());
+    }
+
+    @Test
+    public void getSessionHistoryAfterDeletingAllTasksTest() throws IOException, InterruptedException {
+        createAndPostTestingTask();
+        sendWithSession("http://localhost:8080/tasks/task/?id=1", "first_session");
+
+        deleteAllTasks();
+        createAndPostTestingEpic();
+
+        HttpResponse<String> response = sendWithSession("http://localhost:8080/tasks/history", "first_session");
+        List<Task> history = GSON.fromJson(response.body(), new TypeToken<List<Task>>() {
+        }.getType());
+        assertEquals(200, response.statusCode());
+        assertEquals(0, history.size());
+    }
+
+    @Test
+    public void postAndGetBoardTasksTest() throws IOException, InterruptedException {
+        Task task = new Task();
+        task.setTitle("Board_title");
+        HttpRequest postRequest = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/boards/first_board/tasks/task/"))
+                .POST(HttpRequest.BodyPublishers.ofString(GSON.toJson(task)))
+                .build();
+        HttpResponse<String> postResponse = client.send(postRequest, HttpResponse.BodyHandlers.ofString());
+        assertEquals(201, postResponse.statusCode());
+
+        HttpRequest firstRequest = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/boards/first_board/tasks"))
+                .GET()
+                .build();
+        HttpResponse<String> firstResponse = client.send(firstRequest, HttpResponse.BodyHandlers.ofString());
+        HttpRequest secondRequest = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/boards/second_board/tasks"))
+                .GET()
+                .build();
+        HttpResponse<String> secondResponse = client.send(secondRequest, HttpResponse.BodyHandlers.ofString());
+        HttpRequest wrongRequest = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/boards/first_board"))
+                .GET()
+                .build();
+        HttpResponse<String> wrongResponse = client.send(wrongRequest, HttpResponse.BodyHandlers.ofString());
+
+        List<Task> firstBoardTasks = GSON.fromJson(firstResponse.body(), new TypeToken<List<Task>>() {
+        }.getType());
+        assertEquals(200, firstResponse.statusCode());
+        assertEquals(1, firstBoardTasks.size());
+        assertEquals("Board_title", firstBoardTasks.get(0).getTitle());
+        assertEquals(404, secondResponse.statusCode());
+        assertEquals(404, client.send(secondRequest, HttpResponse.BodyHandlers.ofString()).statusCode());
+        assertEquals(404, wrongResponse.statusCode());
+        assertEquals(0, manager.getAllItems().size());
+
+        HttpRequest deleteRequest = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/boards/first_board/tasks"))
+                .DELETE()
+                .build();
+        client.send(deleteRequest, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> sendWithSession(String url, String sessionId)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .header("X-Session-Id", sessionId)
+                .GET()
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    public void getSearchTest() throws IOException, InterruptedException {
+        createAndPostTestingTask();
+        createAndPostTestingEpic();
+        createAndPostTestingSubtask();
+
+        URI url = URI.create("http://localhost:8080/tasks/search?q=title&limit=2");
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(url)
+                .GET()
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        List<Task> taskList = GSON.fromJson(response.body(),
+                new TypeToken<List<Task>>() {
+                }.getType());
+        assertEquals(2, taskList.size());
+        assertEquals(1, taskList.get(0).getId());
+        assertEquals(2, taskList.get(1).getId());
+    }
+
+    @Test
+    public void getFreeSlotsTest() throws IOException, InterruptedException {
+        createAndPostTestingTask();
+        createAndPostTestingEpic();
+        createAndPostTestingSubtask();
+
+        URI url = URI.create("http://localhost:8080/tasks/slots?from=01.01.2023%2000:00&duration=30&count=2");
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(url)
+                .GET()
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        List<LocalDateTime> slots = GSON.fromJson(response.body(),
+                new TypeToken<List<LocalDateTime>>() {
+                }.getType());
+        assertEquals(List.of(LocalDateTime.parse("01.01.2023 00:20", DT_FORMATTER)), slots);
+    }
+
     @Test
     public void postAndGetTaskEpicSubtaskTest() throws IOException, InterruptedException {
         Task task = createAndPostTestingTask();
@@ -228,6 +395,73 @@ class HttpTaskServerTest {
         assertEquals("[]", response.body());
     }
 
+    @Test
+    public void postAndDeleteBatchTest() throws IOException, InterruptedException {
+        createAndPostTestingEpic();
+        Task task = new Task();
+        task.setStatus(Status.NEW);
+        task.setTitle("Test_title");
+        Subtask subtask = new Subtask();
+        subtask.setStatus(Status.NEW);
+        subtask.setEpicId(1);
+        subtask.setTitle("Test_title");
+
+        URI url = URI.create("http://localhost:8080/tasks/batch");
+        HttpRequest postRequest = HttpRequest.newBuilder()
+                .uri(url)
+                .POST(HttpRequest.BodyPublishers.ofString(GSON.toJson(List.of(task, subtask))))
+                .build();
+        HttpResponse<String> postResponse = client.send(postRequest, HttpResponse.BodyHandlers.ofString());
+        assertEquals(201, postResponse.statusCode());
+        assertEquals(List.of(subtask.getTitle()), List.of(manager.getSubtask(3).getTitle()));
+        assertEquals(List.of(3), manager.getEpic(1).getSubTasksIdList());
+
+        HttpRequest deleteRequest = HttpRequest.newBuilder()
+                .uri(url)
+                .method("DELETE", HttpRequest.BodyPublishers.ofString("[1, 2]"))
+                .build();
+        client.send(deleteRequest, HttpResponse.BodyHandlers.ofString());
+        assertEquals(List.of(), manager.getAllItems());
+    }
+
+    @Test
+    public void postBatchWithFailedUpdateTest() throws IOException, InterruptedException {
+        createAndPostTestingTask();
+        Task task = new Task();
+        task.setStatus(Status.NEW);
+        task.setTitle("Test_title");
+        Epic wrongTypeUpdate = new Epic();
+        wrongTypeUpdate.setId(1);
+        wrongTypeUpdate.setTitle("Test_title");
+
+        URI url = URI.create("http://localhost:8080/tasks/batch");
+        HttpRequest postRequest = HttpRequest.newBuilder()
+                .uri(url)
+                .POST(HttpRequest.BodyPublishers.ofString(GSON.toJson(List.of(task, wrongTypeUpdate))))
+                .build();
+        HttpResponse<String> postResponse = client.send(postRequest, HttpResponse.BodyHandlers.ofString());
+        assertEquals(400, postResponse.statusCode());
+        assertEquals(1, manager.getAllItems().size());
+        assertEquals(1, manager.getIdField());
+    }
+
+    @Test
+    public void postTaskWithEpicIdTest() throws IOException, InterruptedException {
+        createAndPostTestingTask();
+        createAndPostTestingEpic();
+        Task task = new Task();
+        task.setStatus(Status.NEW);
+        task.setTitle("Updated_title");
+
+        URI url = URI.create("http://localhost:8080/tasks/task/?id=2");
+        HttpRequest postRequest = HttpRequest.newBuilder()
+                .uri(url)
+                .POST(HttpRequest.BodyPublishers.ofString(GSON.toJson(task)))
+                .build();
+        HttpResponse<String> postResponse = client.send(postRequest, HttpResponse.BodyHandlers.ofString());
+        assertEquals(404, postResponse.statusCode());
+        assertEquals("Test_title", manager.getEpic(2).getTitle());
+    }
 
     private Task createAndPostTestingTask() throws IOException, InterruptedException {
         Task task = new Task();
@@ -0,0 +1,122 @@
+package taskmanager.service;
+
+import org.junit.jupiter.api.Test;
+import taskmanager.model.Epic;
+import taskmanager.model.Status;
+import taskmanager.model.Subtask;
+import taskmanager.model.Task;
+import taskmanager.model.Type;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArchiveTaskManagerTest {
+
+    public static DateTimeFormatter DT_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+
+    /**
+     * Архив отдаёт те же задачи, что и основной менеджер, и не пишет историю просмотров.
+     */
+    @Test
+    void whenArchiveIsCreatedItShouldServeTheSameItems() {
+        InMemoryTaskManager manager = createManager();
+        TaskManager archive = Managers.getArchiveTaskManager(manager);
+        assertEquals(manager.getAllItems(), archive.getAllItems(), "Archive items differ!");
+        assertEquals(manager.getPrioritizedTasks(), archive.getPrioritizedTasks(), "Archive priority differs!");
+        assertEquals(manager.getEpicsSubtasksById(2), archive.getEpicsSubtasksById(2), "Archive subtasks differ!");
+        assertEquals(manager.getEpic(2), archive.getTaskById(2), "Archive epic differs!");
+        assertEquals(List.of(), archive.getHistory(), "Archive recorded a view!");
+    }
+
+    /**
+     * Изменения основного менеджера сразу видны в архиве, включая пересчитанный статус эпика.
+     */
+    @Test
+    void whenSourceIsChangedArchiveShouldStayCurrent() {
+        InMemoryTaskManager manager = createManager();
+        TaskManager archive = Managers.getArchiveTaskManager(manager);
+        Subtask subtask = new Subtask();
+        subtask.setId(3);
+        subtask.setStatus(Status.DONE);
+        subtask.setEpicId(2);
+        subtask.setTitle("Updated_title");
+        manager.updateSubtask(subtask);
+        manager.deleteTaskById(4);
+        Task task = new Task();
+        task.setStatus(Status.NEW);
+        task.setTitle("Test_title");
+        task.setStartTime(LocalDateTime.parse("01.01.2023 05:00", DT_FORMATTER));
+        manager.addNewTask(task);
+        assertEquals(manager.getAllItems(), archive.getAllItems(), "Archive missed changes!");
+        assertEquals(Status.DONE, archive.getEpic(2).getStatus(), "Archive missed epic status!");
+        assertEquals(1, archive.count(Status.DONE, Type.SUBTASK), "Wrong count of done subtasks!");
+        assertFalse(archive.containsItem(4), "Deleted subtask is still archived!");
+        assertEquals(List.of(archive.getTask(5)), archive.getPrioritizedTasksBetween(
+                LocalDateTime.parse("01.01.2023 01:00", DT_FORMATTER),
+                LocalDateTime.parse("01.01.2023 06:00", DT_FORMATTER), 10), "Received wrong time window!");
+    }
+
+    /**
+     * После очистки основного менеджера архив пуст, а новые задачи с теми же id заменяют старые.
+     */
+    @Test
+    void whenSourceIsClearedArchiveShouldNotKeepOldItems() {
+        InMemoryTaskManager manager = createManager();
+        TaskManager archive = Managers.getArchiveTaskManager(manager);
+        manager.deleteAllItems();
+        assertTrue(archive.getAllItems().isEmpty(), "Archive kept deleted items!");
+        Epic epic = new Epic();
+        epic.setTitle("New_title");
+        epic.setStatus(Status.NEW);
+        manager.addNewEpic(epic);
+        assertEquals(manager.getAllItems(), archive.getAllItems(), "Archive missed a new item!");
+        assertEquals(Type.EPIC, archive.getTaskById(1).getType(), "Archive kept an old item for id 1!");
+    }
+
+    /**
+     * Откаченная транзакция не попадает в архив, а сам архив доступен только для чтения.
+     */
+    @Test
+    void whenTransactionIsRolledBackOrArchiveIsWrittenArchiveShouldNotChange() {
+        InMemoryTaskManager manager = createManager();
+        TaskManager archive = Managers.getArchiveTaskManager(manager);
+        List<Task> items = archive.getAllItems();
+        assertThrows(IllegalStateException.class, () -> manager.inTransaction(transaction -> {
+            transaction.deleteTaskById(1);
+            throw new IllegalStateException("Rollback!");
+        }), "Transaction wasn't rolled back!");
+        assertEquals(items, archive.getAllItems(), "Archive applied a rolled back change!");
+        assertThrows(UnsupportedOperationException.class, () -> archive.deleteTaskById(1),
+                "Archive accepted a write!");
+    }
+
+    private InMemoryTaskManager createManager() {
+        InMemoryTaskManager manager = new InMemoryTaskManager(Managers.getDefaultHistoryManager());
+        Task task = new Task();
+        task.setStatus(Status.NEW);
+        task.setTitle("Test_title");
+        task.setDescription("Test_description");
+        task.setStartTime(LocalDateTime.parse("01.01.2023 00:00", DT_FORMATTER));
+        task.setDuration(10L);
+        manager.addNewTask(task);
+        Epic epic = new Epic();
+        epic.setTitle("Test_title");
+        manager.addNewEpic(epic);
+        for (int i = 1; i <= 2; i++) {
+            Subtask subtask = new Subtask();
+            subtask.setStatus(Status.NEW);
+            subtask.setEpicId(2);
+            subtask.setTitle("Test_title_" + i);
+            subtask.setStartTime(LocalDateTime.parse("01.01.2023 00:00", DT_FORMATTER).plusMinutes(10L * i));
+            subtask.setDuration(10L);
+            manager.addNewSubtask(subtask);
+        }
+        return manager;
+    }
+}
@@ -0,0 +1,65 @@
+package taskmanager.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import taskmanager.model.Epic;
+import taskmanager.model.Subtask;
+import taskmanager.model.Task;
+
+import java.io.File;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class BinaryFileBackedTaskManagerTest extends TaskManagerTest<FileBackedTasksManager> {
+
+    private static final String BINARY_BACKUP_FILE = "Test_binary_file.bin";
+
+    @Override
+    public FileBackedTasksManager getManager() {
+        return (FileBackedTasksManager) Managers.getDefaultTaskManager(BINARY_BACKUP_FILE);
+    }
+
+    @AfterEach
+    public void deleteBinaryFiles() {
+        new File("BackupDirectory", BINARY_BACKUP_FILE).delete();
+        new File("BackupDirectory", BINARY_BACKUP_FILE + ".history").delete();
+    }
+
+    @Test
+    public void whenTryToLoadFromFileAllLoadedShouldBeEqualToCurrentManager() {
+        List<Task> addingTasks = createSomeTasks();
+        manager.addNewTask(addingTasks.get(0));
+        manager.addNewEpic((Epic) addingTasks.get(1));
+        manager.addNewSubtask((Subtask) addingTasks.get(2));
+        manager.getTaskById(1);
+        manager.getTaskById(2);
+        manager.getTaskById(3);
+
+        TaskManager loadedManager = FileBackedTasksManager.loadBackup(BINARY_BACKUP_FILE);
+
+        assertEquals(manager.getAllItems(), loadedManager.getAllItems(), "All items are not equal to loaded items!");
+        assertEquals(manager.getHistory(), loadedManager.getHistory(), "History is not equal to loaded history!");
+        assertEquals(manager.getPrioritizedTasks(), loadedManager.getPrioritizedTasks(),
+                "Prioritized list is not equal to loaded prioritized list!");
+        assertEquals(manager.getIdField(), loadedManager.getIdField(), "Id field is not equal to loaded id field!");
+        assertEquals(manager.getEpic(2).getSubTasksIdList(), loadedManager.getEpic(2).getSubTasksIdList(),
+                "Epic subtasks are not equal to loaded ones!");
+    }
+
+    /**
+     * Запятые в названиях и пустые описания сохраняются без искажений.
+     */
+    @Test
+    void whenTitleHasCommasAndDescriptionIsNullTheyShouldBeLoadedAsIs() {
+        Task task = new Task();
+        task.setTitle("Buy milk, bread, eggs");
+        manager.addNewTask(task);
+
+        TaskManager loadedManager = FileBackedTasksManager.loadBackup(BINARY_BACKUP_FILE);
+
+        assertEquals("Buy milk, bread, eggs", loadedManager.getTask(task.getId()).getTitle(), "Title was corrupted!");
+        assertNull(loadedManager.getTask(task.getId()).getDescription(), "Null description was not preserved!");
+    }
+}
@@ -0,0 +1,139 @@
+package taskmanager.service;
+
+import org.junit.jupiter.api.Test;
+import taskmanager.exceptions.ManagerSaveException;
+import taskmanager.model.Epic;
+import taskmanager.model.Status;
+import taskmanager.model.Subtask;
+import taskmanager.model.Task;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BinarySnapshotTest {
+
+    /**
+     * Снимок декодируется в те же элементы, счётчик идентификаторов и историю.
+     */
+    @Test
+    void whenSnapshotIsEncodedAndDecodedItShouldBeEqual() {
+        List<Task> items = createItems(1000);
+        BinarySnapshot snapshot = new BinarySnapshot(items, 1005, List.of(7, 3, 1));
+
+        BinarySnapshot decoded = BinarySnapshot.decode(ByteBuffer.wrap(snapshot.encode()));
+
+        assertEquals(items, decoded.getItems(), "Items are not equal to decoded items!");
+        assertEquals(1005, decoded.getIdField(), "Id field is not equal to decoded id field!");
+        assertEquals(List.of(7, 3, 1), decoded.getHistoryIds(), "History is not equal to decoded history!");
+        assertEquals(((Epic) items.get(1)).getSubTasksIdList(), ((Epic) decoded.getItems().get(1)).getSubTasksIdList(),
+                "Epic subtasks are not equal to decoded ones!");
+    }
+
+    /**
+     * Повреждённый снимок не загружается.
+     */
+    @Test
+    void whenSnapshotIsCorruptedItShouldBeRejected() {
+        byte[] bytes = new BinarySnapshot(createItems(10), 10, List.of()).encode();
+        bytes[bytes.length / 2] ^= 1;
+        assertThrows(ManagerSaveException.class, () -> BinarySnapshot.decode(ByteBuffer.wrap(bytes)),
+                "Corrupted snapshot was loaded!");
+        byte[] truncated = new byte[bytes.length / 2];
+        System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+        assertThrows(ManagerSaveException.class, () -> BinarySnapshot.decode(ByteBuffer.wrap(truncated)),
+                "Truncated snapshot was loaded!");
+    }
+
+    /**
+     * CSV-бэкап конвертируется в бинарный снимок без потерь.
+     */
+    @Test
+    void whenCsvBackupIsConvertedBinaryBackupShouldBeEqual() {
+        String csvFileName = "Test_convert_file.csv";
+        String binaryFileName = "Test_convert_file.bin";
+        try (FileBackedTasksManager manager = new FileBackedTasksManager(Managers.getDefaultHistoryManager(),
+                csvFileName)) {
+            manager.deleteAllItems();
+            for (Task item : createItems(30)) {
+                item.setId(0);
+                if (item instanceof Subtask) {
+                    manager.addNewSubtask((Subtask) item);
+                } else if (item instanceof Epic) {
+                    ((Epic) item).setSubTasksIdList(List.of());
+                    manager.addNewEpic((Epic) item);
+                } else {
+                    manager.addNewTask(item);
+                }
+            }
+            manager.getTaskById(5);
+            manager.getTaskById(2);
+
+            FileBackedTasksManager.convertBackup(csvFileName, binaryFileName);
+            TaskManager loadedManager = FileBackedTasksManager.loadBackup(binaryFileName);
+
+            assertEquals(manager.getAllItems(), loadedManager.getAllItems(), "All items are not equal to converted!");
+            assertEquals(manager.getHistory(), loadedManager.getHistory(), "History is not equal to converted!");
+            assertEquals(manager.getIdField(), loadedManager.getIdField(), "Id field is not equal to converted!");
+        } finally {
+            new File("BackupDirectory", csvFileName).delete();
+            new File("BackupDirectory", csvFileName + ".history").delete();
+            new File("BackupDirectory", binaryFileName).delete();
+        }
+    }
+
+    /**
+     * Большая доска из бинарного снимка и из CSV загружается в одинаковые элементы.
+     */
+    @Test
+    void whenBoardIsLargeBinaryAndCsvSnapshotsShouldLoadSameItems() {
+        List<Task> items = createItems(50_000);
+        StringBuilder csv = new StringBuilder();
+        for (Task item : items) {
+            csv.append(item.toString());
+        }
+        List<Task> csvItems = new ArrayList<>(items.size());
+        for (String line : csv.toString().split("\n")) {
+            csvItems.add(FileBackedTasksManager.parseItem(line.split(",")));
+        }
+
+        BinarySnapshot decoded = BinarySnapshot.decode(ByteBuffer.wrap(
+                new BinarySnapshot(items, items.size(), List.of()).encode()));
+
+        assertEquals(items, csvItems, "Items are not equal to CSV items!");
+        assertEquals(csvItems, decoded.getItems(), "CSV items are not equal to binary items!");
+    }
+
+    private List<Task> createItems(int count) {
+        List<Task> items = new ArrayList<>(count);
+        LocalDateTime startTime = LocalDateTime.of(2023, 1, 1, 0, 0);
+        for (int id = 1; id <= count; id++) {
+            Task item;
+            if (id % 10 == 2) {
+                Epic epic = new Epic();
+                epic.setSubTasksIdList(List.of(id + 1, id + 2));
+                epic.setEndTime(startTime.plusMinutes(id + 30));
+                item = epic;
+            } else if (id % 10 == 3 || id % 10 == 4) {
+                Subtask subtask = new Subtask();
+                subtask.setEpicId(id % 10 == 3 ? id - 1 : id - 2);
+                item = subtask;
+            } else {
+                item = new Task();
+            }
+            item.setId(id);
+            item.setTitle("Title_" + id);
+            item.setDescription("Description_" + id);
+            item.setStatus(Status.values()[id % Status.values().length]);
+            item.setStartTime(startTime.plusMinutes(id * 15L));
+            item.setDuration(10);
+            items.add(item);
+        }
+        return items;
+    }
+}
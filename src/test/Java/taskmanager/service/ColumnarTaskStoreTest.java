@@ -0,0 +1,117 @@
+package taskmanager.service;
+
+import org.junit.jupiter.api.Test;
+import taskmanager.model.Epic;
+import taskmanager.model.Status;
+import taskmanager.model.Subtask;
+import taskmanager.model.Task;
+import taskmanager.model.Type;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ColumnarTaskStoreTest {
+
+    public static DateTimeFormatter DT_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+
+    /**
+     * Задачи, восстановленные из колоночного хранилища, должны совпадать с исходными.
+     */
+    @Test
+    void whenItemsAreStoredInColumnsTheyShouldBeMaterializedUnchanged() {
+        TaskManager manager = createManager();
+        ColumnarTaskStore store = ColumnarTaskStore.of(manager.getAllItems());
+        assertEquals(manager.getAllItems(), store.getAllItems(), "Items were changed in the store!");
+        assertEquals(manager.getEpic(2), store.get(2), "Epic was changed in the store!");
+    }
+
+    /**
+     * Подсчёт и поиск по колонкам после обновления и удаления задач.
+     */
+    @Test
+    void whenScanningColumnsOnlyMatchingItemsShouldBeReceived() {
+        TaskManager manager = createManager();
+        ColumnarTaskStore store = ColumnarTaskStore.of(manager.getAllItems());
+        Subtask doneSubtask = (Subtask) store.get(3);
+        doneSubtask.setStatus(Status.DONE);
+        store.put(doneSubtask);
+        store.remove(1);
+        assertEquals(1, store.count(Status.DONE, Type.SUBTASK), "Wrong count of done subtasks!");
+        assertEquals(1, store.count(Status.NEW, Type.SUBTASK), "Wrong count of new subtasks!");
+        assertEquals(0, store.count(Status.NEW, Type.TASK), "Removed task is counted!");
+        assertEquals(List.of(manager.getSubtask(4)), store.findStartingBetween(
+                LocalDateTime.parse("01.01.2023 00:15", DT_FORMATTER),
+                LocalDateTime.parse("01.01.2023 01:00", DT_FORMATTER)), "Received wrong time window!");
+        assertFalse(store.contains(1), "Removed task is still stored!");
+        assertEquals(List.of(3, 4), ((Epic) store.get(2)).getSubTasksIdList(), "Epic lost its subtasks!");
+    }
+
+    /**
+     * Повторное сохранение задачи не раздувает хранилище строк.
+     */
+    @Test
+    void whenItemIsUpdatedManyTimesStringArenaShouldStayBounded() {
+        ColumnarTaskStore store = ColumnarTaskStore.of(createManager().getAllItems());
+        Task task = store.get(1);
+        for (int i = 0; i < 200_000; i++) {
+            task.setTitle("Updated_title_" + i);
+            task.setStatus(i % 2 == 0 ? Status.DONE : Status.NEW);
+            store.put(task);
+        }
+        assertEquals("Updated_title_199999", store.get(1).getTitle(), "Last title wasn't stored!");
+        assertTrue(store.arenaLength() < 200_000, "Arena grew to " + store.arenaLength() + " chars!");
+    }
+
+    /**
+     * Удалённые строки уплотняются, а оставшиеся задачи находятся по-прежнему.
+     */
+    @Test
+    void whenMostItemsAreRemovedRowsShouldBeCompacted() {
+        ColumnarTaskStore store = new ColumnarTaskStore();
+        for (int id = 1; id <= 1000; id++) {
+            Task task = new Task();
+            task.setId(id);
+            task.setStatus(Status.NEW);
+            task.setTitle("Test_title_" + id);
+            store.put(task);
+        }
+        for (int id = 1; id <= 1000; id++) {
+            if (id % 10 != 0) {
+                store.remove(id);
+            }
+        }
+        assertTrue(store.rowCount() < 200, "Removed rows weren't compacted!");
+        assertEquals(100, store.count(Status.NEW, Type.TASK), "Wrong count after compaction!");
+        assertEquals("Test_title_500", store.get(500).getTitle(), "Item was corrupted by compaction!");
+        assertEquals(1000, store.getAllItems().get(99).getId(), "Order was changed by compaction!");
+    }
+
+    private TaskManager createManager() {
+        TaskManager manager = Managers.getDefaultTaskManager();
+        Task task = new Task();
+        task.setStatus(Status.NEW);
+        task.setTitle("Test_title");
+        task.setDescription("Test_description");
+        task.setStartTime(LocalDateTime.parse("01.01.2023 00:00", DT_FORMATTER));
+        task.setDuration(10L);
+        manager.addNewTask(task);
+        Epic epic = new Epic();
+        epic.setTitle("Test_title");
+        manager.addNewEpic(epic);
+        for (int i = 1; i <= 2; i++) {
+            Subtask subtask = new Subtask();
+            subtask.setStatus(Status.NEW);
+            subtask.setEpicId(2);
+            subtask.setTitle("Test_title_" + i);
+            subtask.setStartTime(LocalDateTime.parse("01.01.2023 00:00", DT_FORMATTER).plusMinutes(10L * i));
+            subtask.setDuration(10L);
+            manager.addNewSubtask(subtask);
+        }
+        return manager;
+    }
+}
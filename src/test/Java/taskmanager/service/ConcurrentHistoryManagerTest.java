@@ -0,0 +1,117 @@
+package taskmanager.service;
+
+import org.junit.jupiter.api.Test;
+import taskmanager.model.Task;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrentHistoryManagerTest {
+
+    private static final int ITEMS = 5_000;
+    private static final int VIEWS = 100_000;
+
+    /**
+     * История должна возвращать уникальные просмотры от последнего к первому.
+     */
+    @Test
+    void whenItemsAreViewedAgainHistoryShouldKeepOnlyTheirLastViews() {
+        HistoryManager historyManager = new ConcurrentHistoryManager(3);
+        historyManager.add(createTask(1));
+        historyManager.add(createTask(2));
+        historyManager.add(createTask(3));
+        historyManager.add(createTask(1));
+        historyManager.add(createTask(4));
+        assertEquals(List.of(4, 1, 3), historyIds(historyManager), "Wrong history order!");
+        historyManager.remove(1);
+        assertEquals(List.of(4, 3), historyIds(historyManager), "Item wasn't removed!");
+        historyManager.clear();
+        assertTrue(historyManager.getHistory().isEmpty(), "History wasn't cleared!");
+    }
+
+    /**
+     * При одновременных просмотрах из 1, 4 и 16 потоков история остаётся полной и без повторов.
+     */
+    @Test
+    void whenManyThreadsViewItemsHistoryShouldStayUnique() throws Exception {
+        List<Task> tasks = new ArrayList<>(ITEMS);
+        for (int id = 1; id <= ITEMS; id++) {
+            tasks.add(createTask(id));
+        }
+        for (int threads : new int[]{1, 4, 16}) {
+            HistoryManager historyManager = new ConcurrentHistoryManager();
+            viewConcurrently(historyManager, tasks, threads);
+            List<Integer> ids = historyIds(historyManager);
+            assertEquals(InMemoryHistoryManager.DEFAULT_CAPACITY, ids.size(), "Wrong history size!");
+            assertEquals(ids.size(), new HashSet<>(ids).size(), "History has duplicates!");
+        }
+    }
+
+    /**
+     * Очистка во время просмотров не оставляет потерянных записей, и история затем заполняется целиком.
+     */
+    @Test
+    void whenHistoryIsClearedDuringViewsItShouldStayConsistent() throws Exception {
+        List<Task> tasks = new ArrayList<>(ITEMS);
+        for (int id = 1; id <= ITEMS; id++) {
+            tasks.add(createTask(id));
+        }
+        HistoryManager historyManager = new ConcurrentHistoryManager(100);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> clearing = executor.submit(() -> {
+            for (int i = 0; i < 1_000; i++) {
+                historyManager.clear();
+            }
+        });
+        viewConcurrently(historyManager, tasks, 4);
+        clearing.get();
+        executor.shutdown();
+        List<Integer> ids = historyIds(historyManager);
+        assertTrue(ids.size() <= 100, "History exceeded its capacity!");
+        assertEquals(ids.size(), new HashSet<>(ids).size(), "History has duplicates!");
+        for (Task task : tasks.subList(0, 200)) {
+            historyManager.add(task);
+        }
+        assertEquals(100, historyManager.getHistory().size(), "History lost its capacity!");
+        assertEquals(200, historyManager.getHistory().get(0).getId(), "Last view isn't first!");
+    }
+
+    private void viewConcurrently(HistoryManager historyManager, List<Task> tasks, int threads) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        int viewsPerThread = VIEWS / threads;
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < threads; thread++) {
+            int offset = thread * 7;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < viewsPerThread; i++) {
+                    historyManager.add(tasks.get((offset + i * 31) % tasks.size()));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+    }
+
+    private Task createTask(int id) {
+        Task task = new Task();
+        task.setId(id);
+        return task;
+    }
+
+    private List<Integer> historyIds(HistoryManager historyManager) {
+        List<Integer> ids = new ArrayList<>();
+        for (Task task : historyManager.getHistory()) {
+            ids.add(task.getId());
+        }
+        return ids;
+    }
+}
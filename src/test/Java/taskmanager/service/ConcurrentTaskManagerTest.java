@@ -0,0 +1,256 @@
+package taskmanager.service;
+
+import org.junit.jupiter.api.Test;
+import taskmanager.exceptions.AddingAndUpdatingException;
+import taskmanager.model.Epic;
+import taskmanager.model.Status;
+import taskmanager.model.Subtask;
+import taskmanager.model.Task;
+import taskmanager.model.Type;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConcurrentTaskManagerTest extends TaskManagerTest<ConcurrentTaskManager> {
+
+    private static final int THREADS = 8;
+    private static final int OPERATIONS = 2_000;
+    private static final LocalDateTime BOARD_START = LocalDateTime.parse("01.01.2023 00:00", DT_FORMATTER);
+
+    @Override
+    public ConcurrentTaskManager getManager() {
+        return (ConcurrentTaskManager) Managers.getConcurrentTaskManager();
+    }
+
+    /**
+     * Просмотр из другого потока во время откатываемой транзакции не теряется.
+     */
+    @Test
+    void whenTransactionIsRolledBackConcurrentViewShouldStayInHistory() throws Exception {
+        Task task = new Task();
+        task.setTitle("Test_title");
+        manager.addNewTask(task);
+        CountDownLatch transactionStarted = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> view = executor.submit(() -> {
+            transactionStarted.await();
+            return manager.getTask(task.getId());
+        });
+        try {
+            manager.inTransaction(tx -> {
+                tx.addNewTask(new Task());
+                transactionStarted.countDown();
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IllegalStateException("Rollback");
+            });
+        } catch (IllegalStateException e) {
+            // the transaction is expected to roll back
+        }
+        view.get();
+        executor.shutdown();
+        assertEquals(List.of(task), manager.getHistory(), "Concurrent view was lost on rollback!");
+        assertEquals(1, manager.getAllItems().size(), "Transaction wasn't rolled back!");
+    }
+
+    /**
+     * Списки, читаемые из другого потока, не содержат изменений незавершённой транзакции.
+     */
+    @Test
+    void whenTransactionIsInProgressConcurrentReadersShouldNotSeeItsChanges() throws Exception {
+        Task task = new Task();
+        task.setTitle("Test_title");
+        manager.addNewTask(task);
+        CountDownLatch transactionStarted = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<List<List<Task>>> reads = executor.submit(() -> {
+            transactionStarted.await();
+            return List.of(manager.getAllItems(), manager.getAllTasks(), manager.search("rolled", 10),
+                    manager.getPrioritizedTasks(), manager.find(Status.NEW, Type.TASK));
+        });
+        try {
+            manager.inTransaction(tx -> {
+                Task rolledBackTask = new Task();
+                rolledBackTask.setTitle("rolled back");
+                rolledBackTask.setStatus(Status.NEW);
+                tx.addNewTask(rolledBackTask);
+                transactionStarted.countDown();
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IllegalStateException("Rollback");
+            });
+        } catch (IllegalStateException e) {
+            // the transaction is expected to roll back
+        }
+        List<List<Task>> results = reads.get();
+        executor.shutdown();
+        assertEquals(List.of(List.of(task), List.of(task), List.of(), List.of(task), List.of()), results,
+                "Reader saw a rolled back item!");
+    }
+
+    /**
+     * Параллельное изменение задач разных эпиков сохраняет согласованность статусов, времени и расписания.
+     */
+    @Test
+    void whenManyThreadsChangeSubtasksEpicFieldsAndScheduleShouldStayConsistent() throws Exception {
+        List<Integer> epicIds = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            Epic epic = new Epic();
+            epic.setTitle("Epic_" + i);
+            manager.addNewEpic(epic);
+            epicIds.add(epic.getId());
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int epicId : epicIds) {
+            futures.add(executor.submit(() -> changeSubtasksOfEpic(epicId)));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        for (Epic epic : manager.getAllEpics()) {
+            List<Subtask> subtasks = new ArrayList<>();
+            for (int subtaskId : epic.getSubTasksIdList()) {
+                subtasks.add(manager.subtaskMap.get(subtaskId));
+            }
+            assertEpicFieldsMatchSubtasks(epic, subtasks);
+        }
+        Task previous = null;
+        for (Task task : manager.getPrioritizedTasks()) {
+            if (task.getStartTime() == null) {
+                break;
+            }
+            if (previous != null) {
+                assertFalse(previous.getEndTime().isAfter(task.getStartTime()),
+                        "Tasks " + previous.getId() + " and " + task.getId() + " intersect!");
+            }
+            previous = task;
+        }
+        assertEquals(manager.getAllItems().size(), manager.itemMap.size(), "Id index is out of sync!");
+    }
+
+    /**
+     * Обновление задач без времени не портит индекс времени, который параллельно меняют задачи со временем.
+     */
+    @Test
+    void whenUntimedUpdatesRunAlongsideTimedAddsTimeIndexShouldKeepEveryInterval() throws Exception {
+        List<Integer> untimedIds = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            Task task = new Task();
+            task.setTitle("Untimed_" + i);
+            manager.addNewTask(task);
+            untimedIds.add(task.getId());
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            int slot = thread;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < OPERATIONS; i++) {
+                    if (slot % 2 == 0) {
+                        Task update = new Task();
+                        update.setId(untimedIds.get(slot));
+                        update.setTitle("Untimed_" + i);
+                        manager.updateTask(update);
+                    } else {
+                        Task task = new Task();
+                        task.setStartTime(BOARD_START.plusMinutes((slot * OPERATIONS + i) * 10L));
+                        task.setDuration(5);
+                        manager.addNewTask(task);
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        for (Task task : manager.getAllTasks()) {
+            if (task.getStartTime() == null) {
+                continue;
+            }
+            Task overlapping = new Task();
+            overlapping.setStartTime(task.getStartTime());
+            overlapping.setDuration(1);
+            assertThrows(AddingAndUpdatingException.class, () -> manager.addNewTask(overlapping),
+                    "Interval of task " + task.getId() + " is missing from the time index!");
+        }
+    }
+
+    private void changeSubtasksOfEpic(int epicId) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Integer> subtaskIds = new ArrayList<>();
+        for (int i = 0; i < OPERATIONS; i++) {
+            try {
+                int operation = random.nextInt(4);
+                if (operation < 2 || subtaskIds.isEmpty()) {
+                    Subtask subtask = new Subtask();
+                    subtask.setEpicId(epicId);
+                    subtask.setStatus(Status.values()[random.nextInt(Status.values().length)]);
+                    subtask.setStartTime(BOARD_START.plusMinutes(random.nextInt(100_000)));
+                    subtask.setDuration(random.nextInt(1, 30));
+                    manager.addNewSubtask(subtask);
+                    subtaskIds.add(subtask.getId());
+                } else if (operation == 2) {
+                    Subtask subtask = new Subtask();
+                    subtask.setId(subtaskIds.get(random.nextInt(subtaskIds.size())));
+                    subtask.setStatus(Status.values()[random.nextInt(Status.values().length)]);
+                    subtask.setStartTime(BOARD_START.plusMinutes(random.nextInt(100_000)));
+                    subtask.setDuration(random.nextInt(1, 30));
+                    manager.updateSubtask(subtask);
+                } else {
+                    manager.deleteTaskById(subtaskIds.remove(random.nextInt(subtaskIds.size())));
+                }
+                manager.getEpic(epicId);
+            } catch (AddingAndUpdatingException e) {
+                // the random slot was already taken by another subtask
+            }
+        }
+    }
+
+    private void assertEpicFieldsMatchSubtasks(Epic epic, List<Subtask> subtasks) {
+        long duration = 0;
+        LocalDateTime startTime = null;
+        LocalDateTime endTime = null;
+        boolean allNew = true;
+        boolean allDone = true;
+        for (Subtask subtask : subtasks) {
+            duration += subtask.getDuration();
+            if (startTime == null || subtask.getStartTime().isBefore(startTime)) {
+                startTime = subtask.getStartTime();
+            }
+            if (endTime == null || subtask.getEndTime().isAfter(endTime)) {
+                endTime = subtask.getEndTime();
+            }
+            allNew &= subtask.getStatus() == Status.NEW;
+            allDone &= subtask.getStatus() == Status.DONE;
+        }
+        Status status = allNew ? Status.NEW : allDone ? Status.DONE : Status.IN_PROGRESS;
+        assertEquals(status, epic.getStatus(), "Wrong status of epic " + epic.getId());
+        assertEquals(duration, epic.getDuration(), "Wrong duration of epic " + epic.getId());
+        assertEquals(startTime, epic.getStartTime(), "Wrong start time of epic " + epic.getId());
+        assertEquals(endTime, epic.getEndTime(), "Wrong end time of epic " + epic.getId());
+        assertTrue(subtasks.stream().allMatch(subtask -> subtask.getEpicId() == epic.getId()),
+                "Epic " + epic.getId() + " has foreign subtasks!");
+    }
+}
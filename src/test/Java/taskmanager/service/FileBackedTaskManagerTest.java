@@ -1,13 +1,23 @@
 package taskmanager.service;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import taskmanager.model.Epic;
+import taskmanager.model.Status;
 import taskmanager.model.Subtask;
 import taskmanager.model.Task;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class FileBackedTaskManagerTest extends TaskManagerTest<FileBackedTasksManager> {
 
@@ -16,6 +26,11 @@ public class FileBackedTaskManagerTest extends TaskManagerTest<FileBackedTasksMa
         return (FileBackedTasksManager) Managers.getDefaultTaskManager("Test_backup_file.csv");
     }
 
+    @AfterEach
+    public void deleteHistoryJournal() {
+        new File("BackupDirectory", "Test_backup_file.csv.history").delete();
+    }
+
     @Test
     public void whenTryToLoadFromFileAllLoadedShouldBeEqualToCurrentManager() {
         FileBackedTasksManager manager = getManager();
@@ -54,4 +69,118 @@ public class FileBackedTaskManagerTest extends TaskManagerTest<FileBackedTasksMa
         assertEquals(manager.getIdField(), loadedManager.getIdField(), "Id field is not equal to loaded id field!");
     }
 
+    @Test
+    public void whenLoadingFromFileIdsOfDeletedTasksShouldNotBeReused() {
+        FileBackedTasksManager manager = getManager();
+        List<Task> addingTasks = createSomeTasks();
+        manager.addNewTask(addingTasks.get(0));
+        manager.addNewEpic((Epic) addingTasks.get(1));
+        manager.deleteTaskById(2);
+        FileBackedTasksManager loadedManager = FileBackedTasksManager.loadBackup("Test_backup_file.csv");
+        Task task = new Task();
+        loadedManager.addNewTask(task);
+        assertEquals(3, task.getId(), "Id of the deleted epic was reused after loading!");
+    }
+
+    /**
+     * Просмотр задачи не перезаписывает снимок, а история восстанавливается из журнала просмотров.
+     */
+    @Test
+    void whenViewingItemsSnapshotShouldNotBeRewrittenAndHistoryShouldBeLoaded() throws IOException {
+        List<Task> addingTasks = createSomeTasks();
+        manager.addNewTask(addingTasks.get(0));
+        manager.addNewEpic((Epic) addingTasks.get(1));
+        manager.addNewSubtask((Subtask) addingTasks.get(2));
+        File snapshotFile = new File("BackupDirectory", "Test_backup_file.csv");
+        String snapshot = Files.readString(snapshotFile.toPath(), StandardCharsets.UTF_8);
+        manager.getTaskById(3);
+        manager.getTaskById(1);
+        manager.getTaskById(3);
+        assertEquals(snapshot, Files.readString(snapshotFile.toPath(), StandardCharsets.UTF_8),
+                "Snapshot was rewritten on read!");
+
+        TaskManager loadedManager = FileBackedTasksManager.loadBackup("Test_backup_file.csv");
+
+        assertEquals(manager.getHistory(), loadedManager.getHistory(), "History is not equal to loaded history!");
+    }
+
+    /**
+     * Журнал просмотров сжимается и не растёт бесконечно.
+     */
+    @Test
+    void whenViewingManyTimesHistoryJournalShouldBeCompacted() {
+        List<Task> addingTasks = createSomeTasks();
+        manager.addNewTask(addingTasks.get(0));
+        manager.addNewEpic((Epic) addingTasks.get(1));
+        for (int i = 0; i < FileBackedTasksManager.HISTORY_COMPACTION_THRESHOLD * 2; i++) {
+            manager.getTaskById(i % 2 + 1);
+        }
+        File historyFile = new File("BackupDirectory", "Test_backup_file.csv.history");
+        assertTrue(historyFile.length() < FileBackedTasksManager.HISTORY_COMPACTION_THRESHOLD * 3L,
+                "History journal wasn't compacted!");
+
+        TaskManager loadedManager = FileBackedTasksManager.loadBackup("Test_backup_file.csv");
+
+        assertEquals(manager.getHistory(), loadedManager.getHistory(), "History is not equal to loaded history!");
+    }
+
+    /**
+     * После загрузки с журналом просмотров изменения сохраняются, а журнал сливается в снимок.
+     */
+    @Test
+    void whenMutatingAfterReloadWithHistoryJournalSnapshotShouldBeSaved() {
+        List<Task> addingTasks = createSomeTasks();
+        manager.addNewTask(addingTasks.get(0));
+        manager.addNewEpic((Epic) addingTasks.get(1));
+        manager.getTaskById(2);
+        manager.getTaskById(1);
+        List<Task> history = manager.getHistory();
+        manager.close();
+
+        FileBackedTasksManager loadedManager = FileBackedTasksManager.loadBackup("Test_backup_file.csv");
+        Task task = new Task();
+        task.setTitle("Test_title");
+        task.setStatus(Status.NEW);
+        task.setDescription("Test_description");
+        loadedManager.addNewTask(task);
+        loadedManager.close();
+        File historyFile = new File("BackupDirectory", "Test_backup_file.csv.history");
+        assertEquals(0, historyFile.length(), "History journal wasn't merged into snapshot!");
+
+        TaskManager reloadedManager = FileBackedTasksManager.loadBackup("Test_backup_file.csv");
+
+        assertEquals(loadedManager.getAllItems(), reloadedManager.getAllItems(), "Items are not equal to loaded items!");
+        assertEquals(history, reloadedManager.getHistory(),
+                "History is not equal to loaded history!");
+    }
+
+    /**
+     * Оборванная последняя запись журнала просмотров отбрасывается и не склеивается со следующей.
+     */
+    @Test
+    void whenHistoryJournalTailIsTornNextViewsShouldNotBeGluedToIt() throws IOException {
+        for (int i = 0; i < 15; i++) {
+            Task task = new Task();
+            task.setTitle("Test_title");
+            task.setStatus(Status.NEW);
+            task.setDescription("Test_description");
+            manager.addNewTask(task);
+        }
+        manager.getTaskById(1);
+        manager.close();
+        Path historyPath = new File("BackupDirectory", "Test_backup_file.csv.history").toPath();
+        Files.writeString(historyPath, "1", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        FileBackedTasksManager loadedManager = FileBackedTasksManager.loadBackup("Test_backup_file.csv");
+        loadedManager.getTaskById(5);
+        loadedManager.close();
+        TaskManager reloadedManager = FileBackedTasksManager.loadBackup("Test_backup_file.csv");
+
+        List<Integer> historyIds = new ArrayList<>();
+        for (Task item : reloadedManager.getHistory()) {
+            historyIds.add(item.getId());
+        }
+        assertEquals(List.of(5, 1), historyIds, "Torn history record was glued to the next view!");
+    }
+
 }
@@ -0,0 +1,107 @@
+package taskmanager.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import taskmanager.model.Task;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GroupCommitWriterTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Асинхронные изменения в пределах окна объединяются и записываются по барьеру flush.
+     */
+    @Test
+    void whenAsyncChangesArriveWithinWindowTheyShouldBeWrittenOnFlush() throws IOException {
+        File file = directory.resolve("async.log").toFile();
+        try (GroupCommitWriter writer = new GroupCommitWriter(file, Durability.ASYNC, 60_000, 1000)) {
+            writer.append("first\n");
+            writer.append("second\n");
+            writer.append("third\n");
+            assertEquals("", read(file), "Changes were written before the window ended!");
+            writer.flush();
+            assertEquals("first\nsecond\nthird\n", read(file), "Batch was written incorrectly!");
+        }
+    }
+
+    /**
+     * Полная перезапись отменяет накопленные до неё дописывания.
+     */
+    @Test
+    void whenContentIsReplacedEarlierAppendsShouldBeDiscarded() throws IOException {
+        File file = directory.resolve("fsync.log").toFile();
+        try (GroupCommitWriter writer = new GroupCommitWriter(file, Durability.FSYNC, 0, 1000)) {
+            writer.append("old\n");
+            writer.replace("snapshot\n");
+            writer.append("tail\n");
+            assertEquals("snapshot\ntail\n", read(file), "Synchronous write isn't visible after return!");
+        }
+    }
+
+    /**
+     * Заполненный пакет записывается, не дожидаясь окончания окна.
+     */
+    @Test
+    void whenBatchIsFullItShouldBeWrittenBeforeWindowEnds() throws IOException {
+        File file = directory.resolve("batch.log").toFile();
+        try (GroupCommitWriter writer = new GroupCommitWriter(file, Durability.FLUSH, 60_000, 1)) {
+            writer.append("record\n");
+            assertEquals("record\n", read(file), "Full batch wasn't written!");
+        }
+    }
+
+    /**
+     * После закрытия запись невозможна, а все изменения сохранены.
+     */
+    @Test
+    void whenWriterIsClosedPendingChangesShouldBeWrittenAndNewOnesRejected() throws IOException {
+        File file = directory.resolve("closed.log").toFile();
+        GroupCommitWriter writer = new GroupCommitWriter(file, Durability.ASYNC, 60_000, 1000);
+        writer.append("record\n");
+        writer.close();
+        assertEquals("record\n", read(file), "Pending changes were lost on close!");
+        assertThrows(IllegalStateException.class, () -> writer.append("late\n"), "Closed writer accepted a change!");
+    }
+
+    /**
+     * Менеджер с асинхронной записью восстанавливается после закрытия.
+     */
+    @Test
+    void whenAsyncManagerIsClosedItShouldBeLoadedFromBackup() {
+        String backupFileName = "Test_group_commit_file.csv";
+        FileBackedTasksManager manager = new FileBackedTasksManager(Managers.getDefaultHistoryManager(),
+                backupFileName, Durability.ASYNC, 60_000, 1000);
+        try {
+            for (int i = 0; i < 10; i++) {
+                Task task = new Task();
+                task.setTitle("Test_title");
+                task.setDescription("Test_description");
+                manager.addNewTask(task);
+            }
+            manager.getTaskById(3);
+            manager.close();
+
+            TaskManager loadedManager = FileBackedTasksManager.loadBackup(backupFileName);
+
+            assertEquals(manager.getAllItems(), loadedManager.getAllItems(), "All items are not equal to loaded items!");
+            assertEquals(manager.getHistory(), loadedManager.getHistory(), "History is not equal to loaded history!");
+        } finally {
+            new File("BackupDirectory", backupFileName).delete();
+            new File("BackupDirectory", backupFileName + ".history").delete();
+        }
+    }
+
+    private String read(File file) throws IOException {
+        return Files.readString(file.toPath(), StandardCharsets.UTF_8);
+    }
+}
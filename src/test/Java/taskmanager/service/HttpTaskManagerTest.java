@@ -9,6 +9,7 @@ import taskmanager.model.Task;
 import java.net.URI;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -53,4 +54,33 @@ public class HttpTaskManagerTest extends TaskManagerTest<HttpTaskManager> {
         assertEquals(manager.getPrioritizedTasks(), otherManager.getPrioritizedTasks());
     }
 
+    @Test
+    public void viewsAreUploadedOnFlushTest() {
+        Task task = new Task();
+        task.setTitle("Test_title");
+        manager.addNewTask(task);
+        manager.getTaskById(1);
+
+        TaskManager managerBeforeFlush = new HttpTaskManager(URI.create("http://localhost:8078/"), true);
+        manager.flush();
+        TaskManager managerAfterFlush = new HttpTaskManager(URI.create("http://localhost:8078/"), true);
+
+        assertEquals(List.of(), managerBeforeFlush.getHistory());
+        assertEquals(manager.getHistory(), managerAfterFlush.getHistory());
+    }
+
+    @Test
+    public void viewsAreUploadedAfterIntervalTest() {
+        Task task = new Task();
+        task.setTitle("Test_title");
+        manager.addNewTask(task);
+        for (int i = 0; i < HttpTaskManager.HISTORY_UPLOAD_INTERVAL; i++) {
+            manager.getTaskById(1);
+        }
+
+        TaskManager otherManager = new HttpTaskManager(URI.create("http://localhost:8078/"), true);
+
+        assertEquals(manager.getHistory(), otherManager.getHistory());
+    }
+
 }
@@ -0,0 +1,74 @@
+package taskmanager.service;
+
+import org.junit.jupiter.api.Test;
+import taskmanager.model.Task;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryHistoryManagerTest {
+
+    /**
+     * История не должна превышать заданный размер, вытесняя самые старые просмотры.
+     */
+    @Test
+    void whenViewingMoreItemsThanCapacityOldestViewsShouldBeEvicted() {
+        HistoryManager historyManager = new InMemoryHistoryManager(100);
+        for (int id = 1; id <= 100_000; id++) {
+            historyManager.add(createTask(id));
+            assertTrue(historyManager.getHistory().size() <= 100, "History exceeds its capacity!");
+        }
+        List<Integer> expectedIds = new ArrayList<>();
+        for (int id = 100_000; id > 99_900; id--) {
+            expectedIds.add(id);
+        }
+        assertEquals(expectedIds, historyIds(historyManager), "Wrong views were evicted!");
+    }
+
+    /**
+     * Повторный просмотр переносит задачу в начало истории и спасает её от вытеснения.
+     */
+    @Test
+    void whenItemIsViewedAgainItShouldNotBeEvictedFirst() {
+        HistoryManager historyManager = new InMemoryHistoryManager(3);
+        historyManager.add(createTask(1));
+        historyManager.add(createTask(2));
+        historyManager.add(createTask(3));
+        historyManager.add(createTask(1));
+        historyManager.add(createTask(4));
+        assertEquals(List.of(4, 1, 3), historyIds(historyManager), "Wrong history order!");
+        historyManager.remove(1);
+        assertEquals(List.of(4, 3), historyIds(historyManager), "Item wasn't removed from the middle!");
+    }
+
+    /**
+     * История разных менеджеров не должна пересекаться.
+     */
+    @Test
+    void whenTwoManagersAreUsedTheirHistoriesShouldBeIndependent() {
+        HistoryManager firstHistoryManager = new InMemoryHistoryManager();
+        HistoryManager secondHistoryManager = new InMemoryHistoryManager();
+        firstHistoryManager.add(createTask(1));
+        secondHistoryManager.add(createTask(2));
+        secondHistoryManager.remove(1);
+        assertEquals(List.of(1), historyIds(firstHistoryManager), "First history was changed!");
+        assertEquals(List.of(2), historyIds(secondHistoryManager), "Second history was changed!");
+    }
+
+    private Task createTask(int id) {
+        Task task = new Task();
+        task.setId(id);
+        return task;
+    }
+
+    private List<Integer> historyIds(HistoryManager historyManager) {
+        List<Integer> ids = new ArrayList<>();
+        for (Task task : historyManager.getHistory()) {
+            ids.add(task.getId());
+        }
+        return ids;
+    }
+}
@@ -1,9 +1,204 @@
 package taskmanager.service;
 
+import org.junit.jupiter.api.Test;
+import taskmanager.model.Epic;
+import taskmanager.model.Status;
+import taskmanager.model.Subtask;
+import taskmanager.model.Task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 public class InMemoryTaskManagerTest extends TaskManagerTest<InMemoryTaskManager> {
 
     @Override
     public InMemoryTaskManager getManager() {
         return (InMemoryTaskManager) Managers.getDefaultTaskManager();
     }
+
+    /**
+     * На большой доске каждая задача находится по своему id, а удалённые и чужие id - нет.
+     */
+    @Test
+    void whenBoardGrowsEveryItemShouldBeFoundById() {
+        for (int i = 0; i < 10_000; i++) {
+            Task task = new Task();
+            task.setStatus(Status.NEW);
+            task.setTitle("Test_title " + i);
+            manager.addNewTask(task);
+        }
+        for (int id = 2; id <= 10_000; id += 2) {
+            manager.deleteTaskById(id);
+        }
+        for (int id = 1; id <= 10_000; id++) {
+            assertEquals(id % 2 == 1, manager.containsItem(id), "Wrong lookup result for id " + id + "!");
+        }
+        assertEquals("Test_title 9998", manager.getTaskById(9_999).getTitle(), "Received wrong task!");
+        assertFalse(manager.containsItem(10_001), "Unknown id was found!");
+    }
+
+    /**
+     * Массовое добавление выдаёт последовательные уникальные идентификаторы.
+     */
+    @Test
+    void whenInsertingManyTasksIdsShouldBeSequential() {
+        for (int i = 1; i <= 100_000; i++) {
+            Task task = new Task();
+            task.setStatus(Status.NEW);
+            manager.addNewTask(task);
+            assertEquals(i, task.getId(), "Wrong id was given!");
+        }
+        assertEquals(100_000, manager.getIdField(), "Wrong id field!");
+        assertEquals(100_000, manager.getAllItems().size(), "Not all tasks were added!");
+    }
+
+    /**
+     * Идентификатор удаленной задачи не должен выдаваться повторно.
+     */
+    @Test
+    void whenDeletingLastTaskItsIdShouldNotBeReused() {
+        List<Task> addingTasks = createSomeTasks();
+        manager.addNewTask(addingTasks.get(0));
+        manager.deleteTaskById(1);
+        Task task = new Task();
+        manager.addNewTask(task);
+        assertEquals(2, task.getId(), "Id of the deleted task was reused!");
+    }
+
+    /**
+     * Массовое планирование ставит все задачи подряд без пересечений.
+     */
+    @Test
+    void whenSchedulingManyTasksTheyShouldBePlacedBackToBack() {
+        addUnscheduledTasks(10_000);
+        LocalDateTime earliestStart = LocalDateTime.parse("2023-01-01T00:00");
+        List<Task> scheduledItems = manager.scheduleTasks(earliestStart);
+        assertEquals(10_000, scheduledItems.size(), "Not all tasks were scheduled!");
+        LocalDateTime expectedStart = earliestStart;
+        for (Task item : scheduledItems) {
+            assertEquals(expectedStart, item.getStartTime(), "Task " + item.getId() + " was placed into a wrong slot!");
+            expectedStart = item.getEndTime();
+        }
+        assertEquals(earliestStart.plusMinutes(10_000 / 3 * 30), expectedStart, "Tasks weren't placed back to back!");
+    }
+
+    /**
+     * Поиск по большой доске находит точное совпадение и соблюдает лимит.
+     */
+    @Test
+    void whenSearchingLargeBoardExactMatchShouldBeFound() {
+        String[] words = {"отчёт", "встреча", "релиз", "ревью", "баг", "план", "звонок", "деплой"};
+        for (int i = 0; i < 100_000; i++) {
+            Task task = new Task();
+            task.setTitle(words[i % words.length] + " " + i);
+            task.setDescription(words[i / words.length % words.length] + " " + words[i % 7]);
+            manager.addNewTask(task);
+        }
+        assertEquals(List.of(manager.getTask(50_003)), manager.search("релиз 50002", 10), "Received wrong hits!");
+        List<Task> hits = manager.search("релиз", 10);
+        assertEquals(10, hits.size(), "Limit wasn't applied!");
+        for (Task hit : hits) {
+            assertTrue(hit.getTitle().contains("релиз") || hit.getDescription().contains("релиз"),
+                    "Received unrelated hit " + hit.getId() + "!");
+        }
+    }
+
+    private void addUnscheduledTasks(int count) {
+        for (int i = 0; i < count; i++) {
+            Task task = new Task();
+            task.setDuration(i % 3 * 10);
+            manager.addNewTask(task);
+        }
+    }
+
+    /**
+     * Подписчик должен получать события об изменениях со снимками до и после изменения.
+     */
+    @Test
+    void whenItemsChangeListenerShouldReceiveEventsWithSnapshots() {
+        List<TaskEvent> events = new ArrayList<>();
+        manager.subscribe(events::add);
+        manager.addNewEpic(new Epic());
+        Subtask subtask = new Subtask();
+        subtask.setEpicId(1);
+        subtask.setStatus(Status.NEW);
+        manager.addNewSubtask(subtask);
+        Subtask updatedSubtask = new Subtask();
+        updatedSubtask.setId(2);
+        updatedSubtask.setStatus(Status.DONE);
+        manager.updateSubtask(updatedSubtask);
+        manager.getSubtask(2);
+        manager.deleteTaskById(1);
+        List<String> expectedEvents = List.of("1,CREATED,1", "2,CREATED,2", "3,UPDATED,1", "4,UPDATED,2",
+                "5,UPDATED,1", "6,VIEWED,2", "7,DELETED,1", "8,DELETED,2");
+        List<String> receivedEvents = new ArrayList<>();
+        for (TaskEvent event : events) {
+            receivedEvents.add(event.toString());
+        }
+        assertEquals(expectedEvents, receivedEvents, "Received wrong events!");
+        assertEquals(Status.NEW, events.get(3).getPrevious().getStatus(), "Previous snapshot was changed!");
+        assertEquals(Status.DONE, events.get(4).getCurrent().getStatus(), "Epic wasn't recalculated in event!");
+        assertNotSame(subtask, events.get(3).getCurrent(), "Event holds a live item instead of a snapshot!");
+    }
+
+    /**
+     * Асинхронный подписчик с ограниченной очередью должен получить все события по порядку.
+     */
+    @Test
+    void whenListenerIsAsyncAllEventsShouldBeDeliveredInOrder() {
+        List<Long> sequences = new ArrayList<>();
+        AsyncTaskEventListener listener = new AsyncTaskEventListener(event -> sequences.add(event.getSequence()), 1);
+        manager.subscribe(listener);
+        for (int i = 0; i < 100; i++) {
+            manager.addNewTask(new Task());
+        }
+        manager.unsubscribe(listener);
+        listener.close();
+        assertEquals(100, sequences.size(), "Not all events were delivered!");
+        assertEquals(100L, sequences.get(99), "Events were delivered out of order!");
+    }
+
+    /**
+     * Ошибка подписчика передаётся обработчику ошибок, а доставка продолжается.
+     */
+    @Test
+    void whenAsyncListenerFailsErrorHandlerShouldReceiveEvent() {
+        List<Long> failedSequences = new ArrayList<>();
+        List<Long> sequences = new ArrayList<>();
+        AsyncTaskEventListener listener = new AsyncTaskEventListener(event -> {
+            if (event.getSequence() == 1) {
+                throw new IllegalStateException("Listener failure");
+            }
+            sequences.add(event.getSequence());
+        }, 10, (event, e) -> failedSequences.add(event.getSequence()));
+        manager.subscribe(listener);
+        manager.addNewTask(new Task());
+        manager.addNewTask(new Task());
+        listener.close();
+        assertEquals(List.of(1L), failedSequences, "Failure wasn't reported!");
+        assertEquals(List.of(2L), sequences, "Delivery stopped after a failure!");
+    }
+
+    /**
+     * Прерывание публикующего потока не теряет событие и сохраняет флаг прерывания.
+     */
+    @Test
+    void whenPublishingThreadIsInterruptedEventShouldNotBeLost() {
+        List<Long> sequences = new ArrayList<>();
+        AsyncTaskEventListener listener = new AsyncTaskEventListener(event -> sequences.add(event.getSequence()), 1);
+        manager.subscribe(listener);
+        Thread.currentThread().interrupt();
+        manager.addNewTask(new Task());
+        manager.addNewTask(new Task());
+        boolean interrupted = Thread.interrupted();
+        listener.close();
+        assertTrue(interrupted, "Interrupt flag was lost!");
+        assertEquals(List.of(1L, 2L), sequences, "Event was lost on interrupt!");
+    }
 }
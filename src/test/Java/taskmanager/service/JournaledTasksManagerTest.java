@@ -0,0 +1,160 @@
+package taskmanager.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import taskmanager.model.Epic;
+import taskmanager.model.Status;
+import taskmanager.model.Subtask;
+import taskmanager.model.Task;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JournaledTasksManagerTest extends TaskManagerTest<JournaledTasksManager> {
+
+    private static final String JOURNAL_BACKUP_FILE = "Test_journal_file.csv";
+
+    @Override
+    public JournaledTasksManager getManager() {
+        return (JournaledTasksManager) Managers.getJournaledTaskManager(JOURNAL_BACKUP_FILE);
+    }
+
+    @AfterEach
+    public void deleteJournalFiles() {
+        new File("BackupDirectory", JOURNAL_BACKUP_FILE).delete();
+        new File("BackupDirectory", JOURNAL_BACKUP_FILE + ".log").delete();
+    }
+
+    @Test
+    public void whenTryToLoadFromFileAllLoadedShouldBeEqualToCurrentManager() {
+        List<Task> addingTasks = createSomeTasks();
+        manager.addNewTask(addingTasks.get(0));
+        manager.addNewEpic((Epic) addingTasks.get(1));
+        manager.addNewSubtask((Subtask) addingTasks.get(2));
+        manager.getTaskById(1);
+        manager.getTaskById(2);
+        manager.getTaskById(3);
+
+        TaskManager loadedManager = JournaledTasksManager.loadBackup(JOURNAL_BACKUP_FILE);
+
+        assertLoadedManagerIsEqual(loadedManager);
+    }
+
+    /**
+     * Загрузка из снимка и хвоста журнала после нескольких контрольных точек.
+     */
+    @Test
+    void whenLoadingAfterCheckpointsSnapshotAndJournalTailShouldBeRestored() {
+        manager = new JournaledTasksManager(Managers.getDefaultHistoryManager(), JOURNAL_BACKUP_FILE, 7);
+        Epic epic = new Epic();
+        epic.setTitle("Epic_title");
+        epic.setDescription("Epic_description");
+        manager.addNewEpic(epic);
+        for (int i = 0; i < 20; i++) {
+            Subtask subtask = new Subtask();
+            subtask.setTitle("Subtask_title");
+            subtask.setDescription("Subtask_description");
+            subtask.setEpicId(epic.getId());
+            subtask.setStatus(Status.NEW);
+            subtask.setStartTime(LocalDateTime.parse("01.01.2023 00:00", DT_FORMATTER).plusMinutes(i * 10));
+            subtask.setDuration(5);
+            manager.addNewSubtask(subtask);
+        }
+        Subtask doneSubtask = new Subtask();
+        doneSubtask.setId(5);
+        doneSubtask.setTitle("Done_title");
+        doneSubtask.setDescription("Done_description");
+        doneSubtask.setStatus(Status.DONE);
+        doneSubtask.setDuration(5);
+        manager.updateSubtask(doneSubtask);
+        Epic renamedEpic = new Epic();
+        renamedEpic.setId(epic.getId());
+        renamedEpic.setTitle("Renamed_title");
+        renamedEpic.setDescription("Renamed_description");
+        manager.deleteTaskById(3);
+        manager.getTaskById(7);
+        manager.getTaskById(1);
+        Task task = new Task();
+        task.setTitle("Task_title");
+        task.setDescription("Task_description");
+        manager.addNewTask(task);
+        manager.updateEpic(renamedEpic);
+        manager.getTaskById(task.getId());
+
+        TaskManager loadedManager = JournaledTasksManager.loadBackup(JOURNAL_BACKUP_FILE);
+
+        assertLoadedManagerIsEqual(loadedManager);
+        assertEquals(manager.getEpic(1).getSubTasksIdList(), loadedManager.getEpic(1).getSubTasksIdList(),
+                "Epic subtasks are not equal to loaded ones!");
+    }
+
+    /**
+     * Запись одного изменения не должна зависеть от размера доски.
+     */
+    @Test
+    void whenAddingOneTaskToLargeBoardOnlyOneRecordShouldBeAppended() {
+        manager = new JournaledTasksManager(Managers.getDefaultHistoryManager(), JOURNAL_BACKUP_FILE, 100_000);
+        for (int i = 0; i < 5_000; i++) {
+            Task task = new Task();
+            task.setTitle("Test_title");
+            manager.addNewTask(task);
+        }
+        File snapshotFile = new File("BackupDirectory", JOURNAL_BACKUP_FILE);
+        File journalFile = new File("BackupDirectory", JOURNAL_BACKUP_FILE + ".log");
+        long snapshotLength = snapshotFile.length();
+        long journalLength = journalFile.length();
+        Task task = new Task();
+        task.setTitle("Test_title");
+        manager.addNewTask(task);
+        assertEquals(snapshotLength, snapshotFile.length(), "Snapshot was rewritten!");
+        assertTrue(journalFile.length() - journalLength < 100,
+                "Journal grew by " + (journalFile.length() - journalLength) + " bytes!");
+    }
+
+    /**
+     * Оборванная последняя запись журнала отбрасывается и не склеивается со следующей.
+     */
+    @Test
+    void whenJournalTailIsTornNextRecordsShouldSurviveReloads() throws IOException {
+        Task task = new Task();
+        task.setTitle("one");
+        task.setStatus(Status.NEW);
+        task.setDescription("Test_description");
+        manager.addNewTask(task);
+        manager.close();
+        Path journalPath = new File("BackupDirectory", JOURNAL_BACKUP_FILE + ".log").toPath();
+        Files.writeString(journalPath, "CREATED,2,TASK,tw", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        JournaledTasksManager loadedManager = JournaledTasksManager.loadBackup(JOURNAL_BACKUP_FILE);
+        Task nextTask = new Task();
+        nextTask.setTitle("three");
+        nextTask.setStatus(Status.NEW);
+        nextTask.setDescription("Test_description");
+        loadedManager.addNewTask(nextTask);
+        loadedManager.close();
+        JournaledTasksManager reloadedManager = JournaledTasksManager.loadBackup(JOURNAL_BACKUP_FILE);
+        reloadedManager.close();
+
+        assertEquals(loadedManager.getAllItems(), reloadedManager.getAllItems(), "Record after torn tail was lost!");
+        assertEquals(2, reloadedManager.getAllItems().size(), "Wrong number of items!");
+        assertEquals(loadedManager.getAllItems(), JournaledTasksManager.loadBackup(JOURNAL_BACKUP_FILE).getAllItems(),
+                "Journal was corrupted by the second reload!");
+    }
+
+    private void assertLoadedManagerIsEqual(TaskManager loadedManager) {
+        assertEquals(manager.getAllItems(), loadedManager.getAllItems(), "All items are not equal to loaded items!");
+        assertEquals(manager.getHistory(), loadedManager.getHistory(), "History is not equal to loaded history!");
+        assertEquals(manager.getPrioritizedTasks(), loadedManager.getPrioritizedTasks(),
+                "Prioritized list is not equal to loaded prioritized list!");
+        assertEquals(manager.getIdField(), loadedManager.getIdField(), "Id field is not equal to loaded id field!");
+    }
+}
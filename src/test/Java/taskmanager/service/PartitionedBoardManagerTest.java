@@ -0,0 +1,92 @@
+package taskmanager.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import taskmanager.exceptions.NoSuchTaskException;
+import taskmanager.model.Task;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PartitionedBoardManagerTest {
+
+    private final PartitionedBoardManager boards =
+            new PartitionedBoardManager(4, Managers::getDefaultTaskManager);
+
+    @AfterEach
+    public void closeBoards() {
+        boards.close();
+    }
+
+    /**
+     * Доски должны быть независимы друг от друга.
+     */
+    @Test
+    void whenAddingTasksToDifferentBoardsTheyShouldNotSeeEachOther() {
+        boards.run("first", manager -> manager.addNewTask(new Task()));
+        boards.run("first", manager -> manager.addNewTask(new Task()));
+        boards.run("second", manager -> manager.addNewTask(new Task()));
+        assertEquals(2, boardSize("first"), "Wrong first board size!");
+        assertEquals(1, boardSize("second"), "Wrong second board size!");
+        assertEquals(Set.of("first", "second"), new HashSet<>(boards.getBoardIds()), "Wrong board ids!");
+        assertTrue(boards.removeBoard("first"), "Board wasn't removed!");
+        assertFalse(boards.removeBoard("first"), "Board was removed twice!");
+        assertEquals(0, boardSize("first"), "Removed board kept its items!");
+    }
+
+    /**
+     * Все операции одной доски выполняются в одном потоке, а исключения доходят до вызывающего.
+     */
+    @Test
+    void whenManyThreadsChangeOneBoardOperationsShouldRunOnItsPartitionThread() throws Exception {
+        Set<String> threadNames = new HashSet<>();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> {
+                for (int k = 0; k < 1_000; k++) {
+                    boards.run("board", manager -> {
+                        threadNames.add(Thread.currentThread().getName());
+                        manager.addNewTask(new Task());
+                    });
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertEquals(8_000, boardSize("board"), "Some tasks were lost!");
+        assertEquals(1, threadNames.size(), "Board was changed from several threads!");
+        assertThrows(NoSuchTaskException.class, () -> boards.execute("board", manager -> manager.getTask(100_000)),
+                "Exception wasn't rethrown!");
+    }
+
+    /**
+     * Чтение несуществующей доски не создаёт её.
+     */
+    @Test
+    void whenReadingUnknownBoardItShouldNotBeCreated() {
+        boards.run("first", manager -> manager.addNewTask(new Task()));
+        assertEquals(Optional.of(1), boards.executeIfPresent("first", manager -> manager.getAllItems().size()),
+                "Existing board wasn't read!");
+        assertEquals(Optional.empty(), boards.executeIfPresent("unknown", manager -> manager.getAllItems().size()),
+                "Unknown board was read!");
+        assertEquals(List.of("first"), boards.getBoardIds(), "Unknown board was created!");
+    }
+
+    private int boardSize(String boardId) {
+        return boards.execute(boardId, manager -> manager.getAllItems().size());
+    }
+}
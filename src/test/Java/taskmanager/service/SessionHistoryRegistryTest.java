@@ -0,0 +1,108 @@
+package taskmanager.service;
+
+import org.junit.jupiter.api.Test;
+import taskmanager.model.Task;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SessionHistoryRegistryTest {
+
+    private final MutableClock clock = new MutableClock();
+
+    /**
+     * У каждой сессии своя история просмотров.
+     */
+    @Test
+    void whenDifferentSessionsViewItemsTheirHistoriesShouldBeSeparate() {
+        SessionHistoryRegistry registry = new SessionHistoryRegistry(2, 10, Duration.ofMinutes(30), clock);
+        registry.add("first", createTask(1));
+        registry.add("second", createTask(2));
+        registry.add("first", createTask(3));
+        registry.add("first", createTask(4));
+        assertEquals(List.of(createTask(4), createTask(3)), registry.getHistory("first"),
+                "Wrong history of the first session!");
+        assertEquals(List.of(createTask(2)), registry.getHistory("second"), "Wrong history of the second session!");
+        assertTrue(registry.getHistory("unknown").isEmpty(), "Unknown session has history!");
+    }
+
+    /**
+     * При исчерпании общего бюджета вытесняется давно не использованная сессия.
+     */
+    @Test
+    void whenViewBudgetIsExhaustedLeastRecentlyUsedSessionShouldBeEvicted() {
+        SessionHistoryRegistry registry = new SessionHistoryRegistry(5, 10, Duration.ofMinutes(30), clock);
+        registry.add("first", createTask(1));
+        registry.add("second", createTask(2));
+        registry.getHistory("first");
+        registry.add("third", createTask(3));
+        assertEquals(2, registry.size(), "Budget wasn't respected!");
+        assertTrue(registry.getHistory("second").isEmpty(), "Wrong session was evicted!");
+        assertEquals(List.of(createTask(1)), registry.getHistory("first"), "Recently used session was evicted!");
+    }
+
+    /**
+     * Неактивные сессии удаляются по истечении тайм-аута.
+     */
+    @Test
+    void whenSessionIsIdleLongerThanTimeoutItShouldBeEvicted() {
+        SessionHistoryRegistry registry = new SessionHistoryRegistry(5, 100, Duration.ofMinutes(30), clock);
+        registry.add("idle", createTask(1));
+        clock.advance(Duration.ofMinutes(20));
+        registry.add("active", createTask(2));
+        clock.advance(Duration.ofMinutes(20));
+        assertEquals(1, registry.size(), "Idle session wasn't evicted!");
+        assertTrue(registry.getHistory("idle").isEmpty(), "Idle session still has history!");
+        assertEquals(List.of(createTask(2)), registry.getHistory("active"), "Active session was evicted!");
+    }
+
+    /**
+     * После очистки реестра истории всех сессий пусты.
+     */
+    @Test
+    void whenRegistryIsClearedAllSessionHistoriesShouldBeEmpty() {
+        SessionHistoryRegistry registry = new SessionHistoryRegistry(5, 100, Duration.ofMinutes(30), clock);
+        registry.add("first", createTask(1));
+        registry.add("second", createTask(2));
+        registry.clear();
+        assertEquals(0, registry.size(), "Sessions weren't cleared!");
+        assertTrue(registry.getHistory("first").isEmpty(), "Session still has history!");
+    }
+
+    private Task createTask(int id) {
+        Task task = new Task();
+        task.setId(id);
+        return task;
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant = Instant.parse("2023-01-01T00:00:00Z");
+
+        private void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -329,6 +329,55 @@ abstract class TaskManagerTest<T extends TaskManager> {
                 "Adding task was added despite intersecting the existing task!");
     }
 
+    /**
+     * Обновление задачи с пересекающимся временем исполнения существующей задачи.
+     */
+    @Test
+    void whenTryToUpdateTaskWithIntersectedRuntimeOfAnExistingTaskShouldBeThrownAnException() {
+        Task task1 = new Task();
+        task1.setStartTime(LocalDateTime.parse("01.01.2023 00:00", DT_FORMATTER));
+        task1.setDuration(10);
+        Task task2 = new Task();
+        task2.setStartTime(LocalDateTime.parse("01.01.2023 00:20", DT_FORMATTER));
+        task2.setDuration(10);
+        manager.addNewTask(task1);
+        manager.addNewTask(task2);
+        Task newTask = new Task();
+        newTask.setId(2);
+        newTask.setStartTime(LocalDateTime.parse("01.01.2023 00:05", DT_FORMATTER));
+        newTask.setDuration(10);
+        String exceptionMessage = null;
+        try {
+            manager.updateTask(newTask);
+        } catch (AddingAndUpdatingException | NoSuchTaskException e) {
+            exceptionMessage = e.getMessage();
+        }
+        assertEquals("Updated task intersects in execution time with an existing task!", exceptionMessage,
+                "Updating task was updated despite intersecting the existing task!");
+        assertEquals(LocalDateTime.parse("01.01.2023 00:20", DT_FORMATTER), manager.getTask(2).getStartTime(),
+                "Updating task was changed despite intersecting the existing task!");
+    }
+
+    /**
+     * Добавление задачи между уже запланированными задачами без пересечения.
+     */
+    @Test
+    void whenAddingTaskIntoGapBetweenExistingTasksItShouldBeAdded() {
+        Task task1 = new Task();
+        task1.setStartTime(LocalDateTime.parse("01.01.2023 00:00", DT_FORMATTER));
+        task1.setDuration(10);
+        Task task2 = new Task();
+        task2.setStartTime(LocalDateTime.parse("01.01.2023 00:20", DT_FORMATTER));
+        task2.setDuration(10);
+        Task task3 = new Task();
+        task3.setStartTime(LocalDateTime.parse("01.01.2023 00:10", DT_FORMATTER));
+        task3.setDuration(10);
+        manager.addNewTask(task1);
+        manager.addNewTask(task2);
+        manager.addNewTask(task3);
+        assertEquals(List.of(task1, task3, task2), manager.getPrioritizedTasks(), "Task wasn't added into the gap!");
+    }
+
     /**
      * Обновление эпика со стандартным поведением.
      */
@@ -587,6 +636,106 @@ abstract class TaskManagerTest<T extends TaskManager> {
         assertEquals(newSubtask, manager.getSubtask(2), "Updated subtask is not equal to received subtask!");
     }
 
+    /**
+     * Перерасчет статуса и времени эпика после обновления подзадачи.
+     */
+    @Test
+    void whenUpdatingSubtaskEpicFieldsShouldBeRecalculated() {
+        List<Task> addingTasks = createSomeTasks();
+        manager.addNewEpic((Epic) addingTasks.get(1));
+        Subtask subtask = (Subtask) addingTasks.get(2);
+        subtask.setEpicId(1);
+        manager.addNewSubtask(subtask);
+        Subtask newSubtask = new Subtask();
+        newSubtask.setId(2);
+        newSubtask.setEpicId(1);
+        newSubtask.setStatus(Status.DONE);
+        newSubtask.setStartTime(LocalDateTime.parse("01.01.2023 01:00", DT_FORMATTER));
+        newSubtask.setDuration(20);
+        manager.updateSubtask(newSubtask);
+        Epic epic = manager.getEpic(1);
+        assertEquals(Status.DONE, epic.getStatus(), "Epic status wasn't recalculated!");
+        assertEquals(newSubtask.getStartTime(), epic.getStartTime(), "Epic start time wasn't recalculated!");
+        assertEquals(20, epic.getDuration(), "Epic duration wasn't recalculated!");
+        assertEquals(newSubtask.getEndTime(), epic.getEndTime(), "Epic end time wasn't recalculated!");
+        assertEquals(List.of(2), epic.getSubTasksIdList(), "Subtask id was duplicated in the epic!");
+    }
+
+    /**
+     * Обновление подзадачи после обновления эпика заново связывает их без искажения полей эпика.
+     */
+    @Test
+    void whenUpdatingSubtaskAfterEpicUpdateSubtaskShouldBeRelinked() {
+        List<Task> addingTasks = createSomeTasks();
+        manager.addNewEpic((Epic) addingTasks.get(1));
+        Subtask subtask = (Subtask) addingTasks.get(2);
+        subtask.setEpicId(1);
+        manager.addNewSubtask(subtask);
+        Epic newEpic = new Epic();
+        newEpic.setId(1);
+        newEpic.setTitle("Updated_Title");
+        newEpic.setDescription("Updated_Description");
+        manager.updateEpic(newEpic);
+        Subtask newSubtask = new Subtask();
+        newSubtask.setId(2);
+        newSubtask.setEpicId(1);
+        newSubtask.setStatus(Status.IN_PROGRESS);
+        newSubtask.setStartTime(LocalDateTime.parse("01.01.2023 01:00", DT_FORMATTER));
+        newSubtask.setDuration(20);
+        manager.updateSubtask(newSubtask);
+        Epic epic = manager.getEpic(1);
+        assertEquals(List.of(2), epic.getSubTasksIdList(), "Subtask wasn't relinked to the epic!");
+        assertEquals(Status.IN_PROGRESS, epic.getStatus(), "Epic status is wrong!");
+        assertEquals(newSubtask.getStartTime(), epic.getStartTime(), "Epic start time is wrong!");
+        assertEquals(20, epic.getDuration(), "Epic duration is wrong!");
+        assertEquals(newSubtask.getEndTime(), epic.getEndTime(), "Epic end time is wrong!");
+    }
+
+    /**
+     * Обновление элемента через метод другого типа отклоняется и не меняет элемент.
+     */
+    @Test
+    void whenUpdatingItemAsAnotherTypeNoSuchTaskExceptionShouldBeThrown() {
+        List<Task> addingTasks = createSomeTasks();
+        manager.addNewTask(addingTasks.get(0));
+        manager.addNewEpic((Epic) addingTasks.get(1));
+        Task wrongTask = new Task();
+        wrongTask.setId(2);
+        wrongTask.setTitle("Updated_Title");
+        Epic wrongEpic = new Epic();
+        wrongEpic.setId(1);
+        wrongEpic.setTitle("Updated_Title");
+        Subtask wrongSubtask = new Subtask();
+        wrongSubtask.setId(1);
+        wrongSubtask.setTitle("Updated_Title");
+        assertThrows(NoSuchTaskException.class, () -> manager.updateTask(wrongTask), "Epic was updated as task!");
+        assertThrows(NoSuchTaskException.class, () -> manager.updateEpic(wrongEpic), "Task was updated as epic!");
+        assertThrows(NoSuchTaskException.class, () -> manager.updateSubtask(wrongSubtask),
+                "Task was updated as subtask!");
+        assertEquals(addingTasks.get(0).getTitle(), manager.getTask(1).getTitle(), "Task was changed!");
+        assertEquals(addingTasks.get(1).getTitle(), manager.getEpic(2).getTitle(), "Epic was changed!");
+    }
+
+    /**
+     * Удаление единственной подзадачи с указанным временем очищает время эпика.
+     */
+    @Test
+    void whenDeleteTheOnlyTimedSubtaskEpicTemporalFieldsShouldBeCleared() {
+        List<Task> addingTasks = createSomeTasks();
+        manager.addNewEpic((Epic) addingTasks.get(1));
+        Subtask timedSubtask = (Subtask) addingTasks.get(2);
+        timedSubtask.setEpicId(1);
+        Subtask untimedSubtask = new Subtask();
+        untimedSubtask.setEpicId(1);
+        untimedSubtask.setStatus(Status.NEW);
+        manager.addNewSubtask(timedSubtask);
+        manager.addNewSubtask(untimedSubtask);
+        manager.deleteTaskById(2);
+        assertNull(manager.getEpic(1).getStartTime(), "Start time of the epic wasn't cleared!");
+        assertNull(manager.getEpic(1).getEndTime(), "End time of the epic wasn't cleared!");
+        assertEquals(0, manager.getEpic(1).getDuration(), "Duration of the epic wasn't cleared!");
+    }
+
     /**
      * Обновление подзадачи с пересекающимся временем исполнения существующей задачи.
      */
@@ -693,6 +842,22 @@ abstract class TaskManagerTest<T extends TaskManager> {
         assertEquals(addingTasks, manager.getAllItems(), "Added tasks are not equal to received tasks!");
     }
 
+    /**
+     * Повторное получение списка всех элементов без изменений возвращает тот же неизменяемый снимок.
+     */
+    @Test
+    void whenNothingChangedAllItemsSnapshotShouldBeReused() {
+        List<Task> addingTasks = createSomeTasks();
+        manager.addNewTask(addingTasks.get(0));
+        List<Task> snapshot = manager.getAllItems();
+        assertSame(snapshot, manager.getAllItems(), "Snapshot was copied without changes!");
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add(new Task()),
+                "Snapshot can be modified!");
+        manager.addNewEpic((Epic) addingTasks.get(1));
+        assertEquals(1, snapshot.size(), "Snapshot was changed by the following adding!");
+        assertEquals(2, manager.getAllItems().size(), "New snapshot doesn't contain added epic!");
+    }
+
     /**
      * Получение списка всех элементов в отсутствие задач.
      */
@@ -946,6 +1111,267 @@ abstract class TaskManagerTest<T extends TaskManager> {
         assertEquals(controllList, manager.getPrioritizedTasks(), "Received tasks are in wrong order!");
     }
 
+    /**
+     * Постраничное получение списка приоритетных задач.
+     */
+    @Test
+    void whenGettingPrioritizedTasksByPagesTheyShouldBeReceivedInOrder() {
+        List<Task> tasks = addTasksEveryTenMinutes(5);
+        assertEquals(tasks.subList(1, 3), manager.getPrioritizedTasks(1, 2), "Received wrong page!");
+        assertEquals(tasks.subList(3, 5), manager.getPrioritizedTasksAfter(tasks.get(2).getId(), 10),
+                "Received wrong tasks after cursor!");
+        assertEquals(tasks.subList(0, 2), manager.getPrioritizedTasksAfter(0, 2),
+                "Received wrong first tasks!");
+    }
+
+    /**
+     * Получение приоритетных задач, начинающихся в заданном интервале.
+     */
+    @Test
+    void whenGettingPrioritizedTasksBetweenTimesOnlyTasksStartingInRangeShouldBeReceived() {
+        List<Task> tasks = addTasksEveryTenMinutes(5);
+        Task untimedTask = new Task();
+        manager.addNewTask(untimedTask);
+        assertEquals(tasks.subList(1, 3), manager.getPrioritizedTasksBetween(
+                LocalDateTime.parse("01.01.2023 00:10", DT_FORMATTER),
+                LocalDateTime.parse("01.01.2023 00:30", DT_FORMATTER), 10), "Received wrong range!");
+        assertEquals(tasks.subList(1, 2), manager.getPrioritizedTasksBetween(
+                LocalDateTime.parse("01.01.2023 00:05", DT_FORMATTER),
+                LocalDateTime.parse("01.01.2023 00:30", DT_FORMATTER), 1), "Limit wasn't applied!");
+    }
+
+    /**
+     * Пакетное добавление задач, пересекающихся между собой.
+     */
+    @Test
+    void whenBatchItemsIntersectEachOtherNothingShouldBeAdded() {
+        Task task1 = new Task();
+        task1.setStartTime(LocalDateTime.parse("01.01.2023 00:00", DT_FORMATTER));
+        task1.setDuration(30);
+        Task task2 = new Task();
+        task2.setStartTime(LocalDateTime.parse("01.01.2023 00:20", DT_FORMATTER));
+        task2.setDuration(30);
+        String exceptionMessage = null;
+        try {
+            manager.addAll(List.of(task2, task1));
+        } catch (AddingAndUpdatingException e) {
+            exceptionMessage = e.getMessage();
+        }
+        assertEquals("The adding task intersects in execution time with an existing task!", exceptionMessage,
+                "Exception wasn't thrown!");
+        assertTrue(manager.getAllItems().isEmpty(), "Part of the batch was added!");
+    }
+
+    /**
+     * Отклонённый пакет не расходует идентификаторы.
+     */
+    @Test
+    void whenBatchIsRejectedIdFieldShouldNotChange() {
+        Task task = new Task();
+        Subtask subtask = new Subtask();
+        subtask.setEpicId(100);
+        String exceptionMessage = null;
+        try {
+            manager.addAll(List.of(task, subtask));
+        } catch (AddingAndUpdatingException e) {
+            exceptionMessage = e.getMessage();
+        }
+        assertEquals("Unable to add subtask! There's no epics with such epicId", exceptionMessage,
+                "Exception wasn't thrown!");
+        assertEquals(0, manager.getIdField(), "Ids were reserved for the rejected batch!");
+        assertTrue(manager.getAllItems().isEmpty(), "Part of the batch was added!");
+    }
+
+    /**
+     * Пакетное добавление, обновление и удаление задач.
+     */
+    @Test
+    void whenBatchIsAppliedAllItemsShouldBeChanged() {
+        List<Task> addingTasks = createSomeTasks();
+        manager.addAll(addingTasks);
+        assertEquals(addingTasks, manager.getAllItems(), "Batch wasn't added!");
+        assertEquals(List.of(3), manager.getEpic(2).getSubTasksIdList(), "Subtask wasn't linked to epic!");
+        Task movedTask = new Task();
+        movedTask.setId(1);
+        movedTask.setStatus(Status.DONE);
+        movedTask.setStartTime(LocalDateTime.parse("01.01.2023 00:10", DT_FORMATTER));
+        movedTask.setDuration(10);
+        Subtask movedSubtask = new Subtask();
+        movedSubtask.setId(3);
+        movedSubtask.setStatus(Status.DONE);
+        movedSubtask.setStartTime(LocalDateTime.parse("01.01.2023 00:00", DT_FORMATTER));
+        movedSubtask.setDuration(10);
+        manager.updateAll(List.of(movedTask, movedSubtask));
+        assertEquals(Status.DONE, manager.getEpic(2).getStatus(), "Epic wasn't recalculated!");
+        assertEquals(List.of(addingTasks.get(2), addingTasks.get(0)), manager.getPrioritizedTasks(),
+                "Tasks weren't swapped!");
+        manager.deleteAll(List.of(2, 1));
+        assertTrue(manager.getAllItems().isEmpty(), "Batch wasn't deleted!");
+    }
+
+    /**
+     * Транзакция с ошибкой не должна оставлять после себя изменений.
+     */
+    @Test
+    void whenTransactionFailsAllItsChangesShouldBeRolledBack() {
+        List<Task> addingTasks = createSomeTasks();
+        manager.addAll(addingTasks);
+        manager.getTaskById(1);
+        String items = manager.getAllItems().toString();
+        String prioritizedTasks = manager.getPrioritizedTasks().toString();
+        String history = manager.getHistory().toString();
+        int idField = manager.getIdField();
+        Subtask doneSubtask = new Subtask();
+        doneSubtask.setId(3);
+        doneSubtask.setStatus(Status.DONE);
+        doneSubtask.setStartTime(LocalDateTime.parse("01.02.2023 00:00", DT_FORMATTER));
+        doneSubtask.setDuration(10);
+        Task newTask = new Task();
+        newTask.setStartTime(LocalDateTime.parse("01.03.2023 00:00", DT_FORMATTER));
+        newTask.setDuration(10);
+        Task intersectingTask = new Task();
+        intersectingTask.setStartTime(LocalDateTime.parse("01.03.2023 00:05", DT_FORMATTER));
+        intersectingTask.setDuration(10);
+        assertThrows(AddingAndUpdatingException.class, () -> manager.inTransaction(tx -> {
+            tx.updateSubtask(doneSubtask);
+            tx.addNewTask(newTask);
+            tx.deleteTaskById(1);
+            tx.deleteTaskById(2);
+            tx.addNewTask(intersectingTask);
+        }), "Exception wasn't thrown!");
+        assertEquals(history, manager.getHistory().toString(), "History wasn't restored!");
+        assertEquals(items, manager.getAllItems().toString(), "Items weren't restored!");
+        assertEquals(prioritizedTasks, manager.getPrioritizedTasks().toString(),
+                "Prioritized list wasn't restored!");
+        assertEquals(idField, manager.getIdField(), "Id field wasn't restored!");
+        assertEquals(List.of(3), manager.getEpic(2).getSubTasksIdList(), "Subtask wasn't linked to epic again!");
+        assertEquals(0, manager.count(Status.DONE, Type.SUBTASK), "Status index wasn't restored!");
+        assertEquals(List.of(manager.getSubtask(3)), manager.findEpicSubtasks(2, Status.NEW),
+                "Epic subtasks index wasn't restored!");
+        assertEquals(3, manager.search("test_title", 10).size(), "Search index wasn't restored!");
+    }
+
+    /**
+     * Успешная транзакция должна применить все изменения.
+     */
+    @Test
+    void whenTransactionSucceedsAllItsChangesShouldBeApplied() {
+        List<Task> addingTasks = createSomeTasks();
+        manager.addNewTask(addingTasks.get(0));
+        Epic epic = new Epic();
+        Subtask subtask = new Subtask();
+        subtask.setStatus(Status.DONE);
+        manager.inTransaction(tx -> {
+            tx.addNewEpic(epic);
+            subtask.setEpicId(epic.getId());
+            tx.addNewSubtask(subtask);
+            tx.deleteTaskById(1);
+        });
+        assertEquals(List.of(epic, subtask), manager.getAllItems(), "Transaction wasn't applied!");
+        assertEquals(Status.DONE, manager.getEpic(2).getStatus(), "Epic wasn't recalculated!");
+        assertEquals(3, manager.getIdField(), "Wrong id field!");
+    }
+
+    /**
+     * Поиск свободных интервалов между запланированными задачами.
+     */
+    @Test
+    void whenSearchingFreeSlotsOnlyLongEnoughGapsShouldBeReceived() {
+        addTasksEveryTenMinutes(3);
+        Task laterTask = new Task();
+        laterTask.setStartTime(LocalDateTime.parse("01.01.2023 00:40", DT_FORMATTER));
+        laterTask.setDuration(10);
+        manager.addNewTask(laterTask);
+        assertEquals(List.of(LocalDateTime.parse("01.01.2023 00:30", DT_FORMATTER),
+                        LocalDateTime.parse("01.01.2023 00:50", DT_FORMATTER)),
+                manager.findFreeSlots(LocalDateTime.parse("01.01.2023 00:05", DT_FORMATTER), 10, 5),
+                "Received wrong slots!");
+        assertEquals(LocalDateTime.parse("01.01.2023 00:50", DT_FORMATTER),
+                manager.findFreeSlot(LocalDateTime.parse("01.01.2023 00:05", DT_FORMATTER), 15),
+                "Short gap was offered!");
+        assertEquals(LocalDateTime.parse("31.12.2022 23:00", DT_FORMATTER),
+                manager.findFreeSlot(LocalDateTime.parse("31.12.2022 23:00", DT_FORMATTER), 60),
+                "Free time before tasks wasn't offered!");
+        Task slotTask = new Task();
+        slotTask.setStartTime(manager.findFreeSlot(LocalDateTime.parse("01.01.2023 00:00", DT_FORMATTER), 10));
+        slotTask.setDuration(10);
+        manager.addNewTask(slotTask);
+        assertEquals(LocalDateTime.parse("01.01.2023 00:30", DT_FORMATTER), slotTask.getStartTime(),
+                "Task wasn't added into the found slot!");
+    }
+
+    /**
+     * Планирование задач без времени начала с группировкой подзадач по эпикам.
+     */
+    @Test
+    void whenSchedulingUnscheduledItemsSubtasksOfEpicShouldBePlacedTogether() {
+        addTasksEveryTenMinutes(1);
+        Epic epic = new Epic();
+        manager.addNewEpic(epic);
+        Subtask subtask1 = new Subtask();
+        subtask1.setEpicId(2);
+        subtask1.setDuration(10);
+        manager.addNewSubtask(subtask1);
+        Task task = new Task();
+        task.setDuration(20);
+        manager.addNewTask(task);
+        Subtask subtask2 = new Subtask();
+        subtask2.setEpicId(2);
+        subtask2.setDuration(10);
+        manager.addNewSubtask(subtask2);
+        List<Task> scheduledItems = manager.scheduleTasks(LocalDateTime.parse("01.01.2023 00:00", DT_FORMATTER));
+        assertEquals(List.of(subtask1, subtask2, task), scheduledItems, "Items were scheduled in wrong order!");
+        assertEquals(LocalDateTime.parse("01.01.2023 00:10", DT_FORMATTER), subtask1.getStartTime(),
+                "Subtask was placed into a busy slot!");
+        assertEquals(LocalDateTime.parse("01.01.2023 00:30", DT_FORMATTER), task.getStartTime(),
+                "Task wasn't placed after the epic!");
+        assertEquals(LocalDateTime.parse("01.01.2023 00:30", DT_FORMATTER), manager.getEpic(2).getEndTime(),
+                "Epic times weren't recalculated!");
+        assertEquals(manager.getPrioritizedTasks().get(3), task, "Scheduled task wasn't reprioritized!");
+    }
+
+    /**
+     * Поиск по названию и описанию с учётом обновления и удаления задач.
+     */
+    @Test
+    void whenSearchingTasksTitleMatchesShouldBeRankedFirst() {
+        Task task1 = new Task();
+        task1.setTitle("Купить молоко");
+        task1.setDescription("Зайти в магазин");
+        manager.addNewTask(task1);
+        Task task2 = new Task();
+        task2.setTitle("Магазин");
+        task2.setDescription("Купить хлеб и молоко");
+        manager.addNewTask(task2);
+        Task task3 = new Task();
+        task3.setTitle("Позвонить");
+        manager.addNewTask(task3);
+        assertEquals(List.of(task1, task2), manager.search("молоко купить", 10), "Received wrong hits!");
+        assertEquals(List.of(task2), manager.search("МАГАЗИН, хлеб", 10), "Search isn't case insensitive!");
+        assertEquals(List.of(task1), manager.search("молоко", 1), "Limit wasn't applied!");
+        Task updatedTask = new Task();
+        updatedTask.setId(3);
+        updatedTask.setTitle("Купить молоко срочно");
+        manager.updateTask(updatedTask);
+        manager.deleteTaskById(1);
+        assertEquals(List.of(task3, task2), manager.search("молоко", 10), "Index wasn't updated!");
+        assertTrue(manager.search("позвонить", 10).isEmpty(), "Old title is still found!");
+    }
+
+    List<Task> addTasksEveryTenMinutes(int count) {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Task task = new Task();
+            task.setStatus(Status.NEW);
+            task.setTitle("Test_title_" + i);
+            task.setStartTime(LocalDateTime.parse("01.01.2023 00:00", DT_FORMATTER).plusMinutes(10L * i));
+            task.setDuration(10);
+            manager.addNewTask(task);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
     /**
      * Получение списка приоритетных задач в отсутствие задач.
      */
@@ -953,6 +1379,48 @@ abstract class TaskManagerTest<T extends TaskManager> {
     void whenTryToGetPrioritizedTasksInTheirAbsenceShouldReceiveAnEmptyList() {
         assertTrue(manager.getPrioritizedTasks().isEmpty(), "Received wrong priority list!");
     }
+
+    /**
+     * Поиск задач по статусу и типу после обновления подзадачи.
+     */
+    @Test
+    void whenSubtaskStatusIsUpdatedIndexedQueriesShouldFollowIt() {
+        List<Task> addingTasks = createSomeTasks();
+        manager.addNewTask(addingTasks.get(0));
+        manager.addNewEpic((Epic) addingTasks.get(1));
+        manager.addNewSubtask((Subtask) addingTasks.get(2));
+        Subtask updatedSubtask = new Subtask();
+        updatedSubtask.setId(3);
+        updatedSubtask.setEpicId(2);
+        updatedSubtask.setStatus(Status.IN_PROGRESS);
+        manager.updateSubtask(updatedSubtask);
+        assertEquals(List.of(addingTasks.get(2)), manager.find(Status.IN_PROGRESS, Type.SUBTASK),
+                "Received wrong subtasks!");
+        assertEquals(List.of(addingTasks.get(1)), manager.find(Status.IN_PROGRESS, Type.EPIC),
+                "Received wrong epics!");
+        assertEquals(List.of(addingTasks.get(2)), manager.findEpicSubtasks(2, Status.IN_PROGRESS),
+                "Received wrong epic subtasks!");
+        assertTrue(manager.findEpicSubtasks(2, Status.NEW).isEmpty(), "Received wrong epic subtasks!");
+        assertEquals(1, manager.count(Status.NEW, Type.TASK), "Wrong count of tasks!");
+        assertEquals(0, manager.count(Status.NEW, Type.SUBTASK), "Wrong count of subtasks!");
+    }
+
+    /**
+     * Подсчёт задач по статусу после удаления.
+     */
+    @Test
+    void whenItemsAreDeletedTheyShouldNotBeCounted() {
+        List<Task> addingTasks = createSomeTasks();
+        manager.addNewTask(addingTasks.get(0));
+        manager.addNewEpic((Epic) addingTasks.get(1));
+        manager.addNewSubtask((Subtask) addingTasks.get(2));
+        manager.deleteTaskById(2);
+        manager.deleteTasksByType(Type.TASK);
+        for (Type type : Type.values()) {
+            assertEquals(0, manager.count(Status.NEW, type), "Deleted items are counted!");
+            assertTrue(manager.find(Status.NEW, type).isEmpty(), "Deleted items are found!");
+        }
+    }
     List<Task> createSomeTasks() {
         Task task = new Task();
         task.setStatus(Status.NEW);
@@ -0,0 +1,95 @@
+package taskmanager.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntHashMapTest {
+
+    /**
+     * Случайные операции должны давать тот же результат и порядок, что и LinkedHashMap.
+     */
+    @Test
+    void whenApplyingRandomOperationsMapShouldMatchLinkedHashMap() {
+        Map<Integer, String> expected = new LinkedHashMap<>();
+        IntHashMap<String> actual = new IntHashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            int key = random.nextInt(2_000) - 1_000;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), actual.remove(key), "Wrong removed value!");
+            } else {
+                assertEquals(expected.put(key, "value_" + i), actual.put(key, "value_" + i), "Wrong replaced value!");
+            }
+            if (i % 10_000 == 0) {
+                Iterator<Integer> keys = actual.keySet().iterator();
+                while (keys.hasNext()) {
+                    if (keys.next() % 2 == 0) {
+                        keys.remove();
+                    }
+                }
+                expected.keySet().removeIf(removedKey -> removedKey % 2 == 0);
+            }
+        }
+        assertEquals(expected.size(), actual.size(), "Wrong size!");
+        assertEquals(new ArrayList<>(expected.entrySet()), new ArrayList<>(actual.entrySet()),
+                "Entries are in wrong order!");
+    }
+
+    /**
+     * Упорядоченное множество должно сохранять порядок добавления и не хранить повторы.
+     */
+    @Test
+    void whenRemovingFromOrderedSetOtherValuesShouldKeepTheirOrder() {
+        IntOrderedSet set = new IntOrderedSet(List.of(5, 3, 9, 3, 7));
+        set.removeValue(3);
+        set.add(3);
+        assertEquals(List.of(5, 9, 7, 3), set, "Values are in wrong order!");
+        assertEquals(9, set.get(1), "Wrong value by index!");
+        assertTrue(set.contains(7), "Value wasn't found!");
+    }
+
+    /**
+     * Чтение по индексу после удалений не перестраивает множество и не ломает открытые итераторы.
+     */
+    @Test
+    void whenReadingOrderedSetByIndexAfterRemovalsOpenIteratorsShouldStayValid() {
+        IntOrderedSet set = new IntOrderedSet(List.of(1, 2, 3, 4, 5, 6));
+        set.removeValue(2);
+        set.removeValue(5);
+        Iterator<Integer> values = set.iterator();
+        assertEquals(1, values.next(), "Wrong first value!");
+        assertEquals(List.of(1, 3, 4, 6), List.of(set.get(0), set.get(1), set.get(2), set.get(3)),
+                "Wrong values by index!");
+        assertEquals(new IntOrderedSet(List.of(1, 3, 4, 6)), set, "Sets with same values aren't equal!");
+        assertEquals(2, set.indexOf(4), "Wrong index of value!");
+        assertEquals(3, values.next(), "Iterator was broken by reads!");
+    }
+
+    /**
+     * После многократного роста таблицы все записи должны находиться по ключу.
+     */
+    @Test
+    void whenStoringMillionEntriesAllShouldBeFoundAfterResizes() {
+        IntHashMap<String> map = new IntHashMap<>();
+        for (int i = 1; i <= 1_000_000; i++) {
+            map.put(i, "value_" + i);
+        }
+        for (int i = 1; i <= 1_000_000; i += 2) {
+            map.remove(i);
+        }
+        assertEquals(500_000, map.size(), "Wrong size!");
+        for (int i = 1; i <= 1_000_000; i++) {
+            assertEquals(i % 2 == 0 ? "value_" + i : null, map.get(i), "Wrong value for key " + i + "!");
+        }
+        assertEquals(2, map.keySet().iterator().next(), "First key is wrong!");
+    }
+}
@@ -0,0 +1,40 @@
+package taskmanager.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JournalReaderTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Читаются только записи, завершённые переводом строки, а позиция указывает на конец последней из них.
+     */
+    @Test
+    void whenLastRecordIsTornItShouldNotBeRead() throws IOException {
+        Path file = directory.resolve("journal.log");
+        Files.writeString(file, "1\r\nЗадача\n\n12", StandardCharsets.UTF_8);
+        List<String> records = new ArrayList<>();
+        long position;
+        try (JournalReader reader = new JournalReader(file.toFile())) {
+            String record = reader.readRecord();
+            while (record != null) {
+                records.add(record);
+                record = reader.readRecord();
+            }
+            position = reader.position();
+        }
+        assertEquals(List.of("1", "Задача", ""), records, "Wrong records!");
+        assertEquals(Files.size(file) - 2, position, "Wrong end of the last record!");
+    }
+}
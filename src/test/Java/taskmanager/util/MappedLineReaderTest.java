@@ -0,0 +1,45 @@
+package taskmanager.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MappedLineReaderTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Строки, пересекающие границы отображаемых фрагментов, читаются целиком.
+     */
+    @Test
+    void whenLinesCrossChunkBoundariesTheyShouldBeReadWhole() throws IOException {
+        Path file = directory.resolve("lines.csv");
+        Files.writeString(file, "1,TASK,Задача,NEW\r\n\n2,EPIC,Эпик с длинным названием,DONE\n3", StandardCharsets.UTF_8);
+        for (int chunkSize : new int[]{1, 3, 7, 1024}) {
+            List<String> lines = new ArrayList<>();
+            new MappedLineReader(chunkSize).forEachLine(file, lines::add);
+            assertEquals(List.of("1,TASK,Задача,NEW", "", "2,EPIC,Эпик с длинным названием,DONE", "3"), lines,
+                    "Wrong lines for chunk size " + chunkSize + "!");
+        }
+    }
+
+    /**
+     * Пустой файл не содержит строк.
+     */
+    @Test
+    void whenFileIsEmptyNoLinesShouldBeRead() throws IOException {
+        Path file = Files.createFile(directory.resolve("empty.csv"));
+        List<String> lines = new ArrayList<>();
+        new MappedLineReader().forEachLine(file, lines::add);
+        assertEquals(List.of(), lines, "Empty file has lines!");
+    }
+}